@@ -0,0 +1,45 @@
+package ru.practicum.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import ru.practicum.security.ClientIpResolver;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClientIpResolverBenchmark {
+
+    private MockHttpServletRequest forwarded;
+    private MockHttpServletRequest realIp;
+    private MockHttpServletRequest direct;
+
+    @Setup
+    public void setUp() {
+        forwarded = new MockHttpServletRequest("GET", "/events/1");
+        forwarded.addHeader("X-Forwarded-For", "203.0.113.7, 10.0.0.1, 10.0.0.2");
+        realIp = new MockHttpServletRequest("GET", "/events/1");
+        realIp.addHeader("X-Real-IP", " 203.0.113.8 ");
+        direct = new MockHttpServletRequest("GET", "/events/1");
+        direct.setRemoteAddr("203.0.113.9");
+    }
+
+    @Benchmark
+    public String xForwardedFor() {
+        return ClientIpResolver.resolve(forwarded);
+    }
+
+    @Benchmark
+    public String xRealIp() {
+        return ClientIpResolver.resolve(realIp);
+    }
+
+    @Benchmark
+    public String remoteAddr() {
+        return ClientIpResolver.resolve(direct);
+    }
+}
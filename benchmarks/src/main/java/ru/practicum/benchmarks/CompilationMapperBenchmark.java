@@ -0,0 +1,46 @@
+package ru.practicum.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.category.mapper.CategoryMapper;
+import ru.practicum.compilation.dto.CompilationDto;
+import ru.practicum.compilation.mapper.CompilationMapper;
+import ru.practicum.compilation.model.Compilation;
+import ru.practicum.event.dto.EventShortDto;
+import ru.practicum.event.mapper.EventMapper;
+import ru.practicum.event.model.Event;
+import ru.practicum.user.mapper.UserMapper;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompilationMapperBenchmark {
+
+    @Param({"10", "100"})
+    private int events;
+
+    private CompilationMapper mapper;
+    private Compilation compilation;
+    private Map<Long, EventShortDto> shortDtos;
+
+    @Setup
+    public void setUp() {
+        mapper = new CompilationMapper();
+        compilation = Fixtures.compilation(1, events);
+        // в сервисе события обогащаются заранее, одним пакетом на страницу подборок
+        EventMapper eventMapper = new EventMapper(new CategoryMapper(), new UserMapper());
+        shortDtos = compilation.getEvents().stream()
+                .collect(Collectors.toMap(Event::getId, e -> eventMapper.toShortDto(e, 1234L, 17L)));
+    }
+
+    @Benchmark
+    public CompilationDto toDto() {
+        return mapper.toDto(compilation, shortDtos);
+    }
+}
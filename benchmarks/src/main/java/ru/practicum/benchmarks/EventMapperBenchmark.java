@@ -0,0 +1,39 @@
+package ru.practicum.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.category.mapper.CategoryMapper;
+import ru.practicum.event.dto.EventFullDto;
+import ru.practicum.event.dto.EventShortDto;
+import ru.practicum.event.mapper.EventMapper;
+import ru.practicum.event.model.Event;
+import ru.practicum.user.mapper.UserMapper;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventMapperBenchmark {
+
+    private EventMapper mapper;
+    private Event event;
+
+    @Setup
+    public void setUp() {
+        mapper = new EventMapper(new CategoryMapper(), new UserMapper());
+        event = Fixtures.event(42);
+    }
+
+    @Benchmark
+    public EventFullDto toFullDto() {
+        return mapper.toFullDto(event, 1234L, 17L);
+    }
+
+    @Benchmark
+    public EventShortDto toShortDto() {
+        return mapper.toShortDto(event, 1234L, 17L);
+    }
+}
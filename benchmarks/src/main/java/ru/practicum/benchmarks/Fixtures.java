@@ -0,0 +1,52 @@
+package ru.practicum.benchmarks;
+
+import ru.practicum.category.model.Category;
+import ru.practicum.compilation.model.Compilation;
+import ru.practicum.event.model.Event;
+import ru.practicum.event.model.EventState;
+import ru.practicum.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+final class Fixtures {
+    private Fixtures() {
+    }
+
+    static Event event(long id) {
+        Category category = new Category(id % 20, "category-" + (id % 20));
+        User initiator = new User(id % 100, "Initiator " + (id % 100), "user" + (id % 100) + "@example.com");
+        return Event.builder()
+                .id(id)
+                .title("Event title " + id)
+                .annotation("Short annotation of the event number " + id + " for the listing card")
+                .description("Full description of the event number " + id + ". ".repeat(40))
+                .category(category)
+                .initiator(initiator)
+                .eventDate(LocalDateTime.of(2030, 1, 1, 10, 0).plusHours(id))
+                .createdOn(LocalDateTime.of(2025, 1, 1, 10, 0))
+                .publishedOn(LocalDateTime.of(2025, 1, 2, 10, 0))
+                .paid(id % 2 == 0)
+                .participantLimit((int) (id % 50))
+                .requestModeration(Boolean.TRUE)
+                .state(EventState.PUBLISHED)
+                .locationLat(55.75)
+                .locationLon(37.61)
+                .version(1L)
+                .build();
+    }
+
+    static Compilation compilation(long id, int eventCount) {
+        Set<Event> events = new LinkedHashSet<>();
+        for (int i = 0; i < eventCount; i++) {
+            events.add(event(id * 1000 + i));
+        }
+        Compilation c = new Compilation();
+        c.setId(id);
+        c.setTitle("Compilation " + id);
+        c.setPinned(Boolean.TRUE);
+        c.setEvents(events);
+        return c;
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.category.mapper.CategoryMapper;
+import ru.practicum.config.JacksonConfig;
+import ru.practicum.event.dto.EventFullDto;
+import ru.practicum.event.dto.EventShortDto;
+import ru.practicum.event.mapper.EventMapper;
+import ru.practicum.user.mapper.UserMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сериализация DTO событий тем же ObjectMapper, что собирает приложение (JacksonConfig + LDT_SERIALIZER).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ObjectWriter writer;
+    private EventFullDto full;
+    private List<EventShortDto> page;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+        new JacksonConfig().jsonCustomizer().customize(builder);
+        ObjectMapper objectMapper = builder.build();
+        writer = objectMapper.writer();
+
+        EventMapper mapper = new EventMapper(new CategoryMapper(), new UserMapper());
+        full = mapper.toFullDto(Fixtures.event(1), 1234L, 17L);
+        page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            page.add(mapper.toShortDto(Fixtures.event(i), i * 10L, i));
+        }
+    }
+
+    @Benchmark
+    public byte[] eventFullDto() throws Exception {
+        return writer.writeValueAsBytes(full);
+    }
+
+    @Benchmark
+    public byte[] eventShortDtoPage() throws Exception {
+        return writer.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.statsclient.StatsClient;
+import ru.practicum.statsdto.ViewStatsDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость построения URL запроса /stats для больших списков uri; HTTP-вызов заглушен.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatsClientUrlBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int uriCount;
+
+    private StatsClient client;
+    private List<String> uris;
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    @Setup
+    public void setUp() {
+        client = new StatsClient(new NoopRestTemplate());
+        uris = new ArrayList<>(uriCount);
+        for (int i = 0; i < uriCount; i++) {
+            uris.add("/events/" + (100_000 + i));
+        }
+        start = LocalDateTime.of(2020, 1, 1, 0, 0);
+        end = LocalDateTime.of(2030, 1, 1, 0, 0);
+    }
+
+    @Benchmark
+    public List<ViewStatsDto> getStats() {
+        return client.getStats(start, end, uris, true);
+    }
+
+    private static final class NoopRestTemplate extends RestTemplate {
+        private static final ViewStatsDto[] EMPTY = new ViewStatsDto[0];
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> ResponseEntity<T> getForEntity(String url, Class<T> responseType, Object... uriVariables) {
+            if (url.isEmpty()) throw new IllegalStateException();
+            return ResponseEntity.ok((T) EMPTY);
+        }
+    }
+}
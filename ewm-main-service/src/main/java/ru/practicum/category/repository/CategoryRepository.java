@@ -1,12 +1,26 @@
 package ru.practicum.category.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.category.model.Category;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
-    boolean existsByNameIgnoreCase(String name);
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    boolean existsById(Long id);
 
-    boolean existsByNameIgnoreCaseAndIdNot(String name, Long id);
+    /**
+     * lower(), а не производный IgnoreCase (он строит upper()), — под индекс idx_categories_name_lower.
+     */
+    @Query("select count(c) > 0 from Category c where lower(c.name) = lower(:name)")
+    boolean existsByNameIgnoreCase(@Param("name") String name);
+
+    @Query("select count(c) > 0 from Category c where lower(c.name) = lower(:name) and c.id <> :id")
+    boolean existsByNameIgnoreCaseAndIdNot(@Param("name") String name, @Param("id") Long id);
 }
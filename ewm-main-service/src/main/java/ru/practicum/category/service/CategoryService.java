@@ -1,6 +1,9 @@
 package ru.practicum.category.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -9,21 +12,27 @@ import ru.practicum.category.dto.NewCategoryDto;
 import ru.practicum.category.mapper.CategoryMapper;
 import ru.practicum.category.model.Category;
 import ru.practicum.category.repository.CategoryRepository;
+import ru.practicum.common.cache.CacheNames;
+import ru.practicum.common.cache.CategoryChangedEvent;
 import ru.practicum.common.errors.ConflictException;
 import ru.practicum.common.errors.NotFoundException;
 import ru.practicum.common.util.PageRequestUtil;
+import ru.practicum.event.repository.ArchivedEventRepository;
 import ru.practicum.event.repository.EventRepository;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("ewm.service")
 @RequiredArgsConstructor
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final EventRepository eventRepository;
+    private final ArchivedEventRepository archivedEventRepository;
     private final CategoryMapper mapper;
+    private final ApplicationEventPublisher publisher;
 
     @Transactional
     public CategoryDto create(NewCategoryDto dto) {
@@ -31,6 +40,7 @@ public class CategoryService {
             throw new ConflictException("Category name must be unique.");
         }
         Category saved = categoryRepository.save(mapper.fromNew(dto));
+        publisher.publishEvent(new CategoryChangedEvent(saved.getId()));
         return mapper.toDto(saved);
     }
 
@@ -43,7 +53,9 @@ public class CategoryService {
             throw new ConflictException("Category name must be unique.");
         }
         mapper.update(entity, dto);
-        return mapper.toDto(categoryRepository.save(entity));
+        Category saved = categoryRepository.save(entity);
+        publisher.publishEvent(new CategoryChangedEvent(catId));
+        return mapper.toDto(saved);
     }
 
     @Transactional
@@ -51,13 +63,15 @@ public class CategoryService {
         Category entity = categoryRepository.findById(catId)
                 .orElseThrow(() -> new NotFoundException("Category with id=" + catId + " was not found"));
         long usage = eventRepository.countByCategory_Id(catId);
-        if (usage > 0) {
+        if (usage > 0 || archivedEventRepository.existsByCategory_Id(catId)) {
             throw new ConflictException("Category is used by events and cannot be deleted.");
         }
         categoryRepository.delete(entity);
+        publisher.publishEvent(new CategoryChangedEvent(catId));
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.CATEGORY, key = "#catId")
     public CategoryDto get(Long catId) {
         Category entity = categoryRepository.findById(catId)
                 .orElseThrow(() -> new NotFoundException("Category with id=" + catId + " was not found"));
@@ -65,6 +79,7 @@ public class CategoryService {
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.CATEGORY_PAGES)
     public List<CategoryDto> getAll(int from, int size) {
         return categoryRepository
                 .findAll(PageRequestUtil.of(from, size, Sort.by("id").ascending()))
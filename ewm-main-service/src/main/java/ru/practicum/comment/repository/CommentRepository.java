@@ -1,15 +1,25 @@
 package ru.practicum.comment.repository;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.stereotype.Repository;
 import ru.practicum.comment.model.Comment;
 import ru.practicum.comment.model.CommentStatus;
 
+import java.util.Optional;
+
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     Page<Comment> findAllByEvent_IdAndStatusOrderByCreatedOnDesc(Long eventId, CommentStatus status, Pageable pageable);
 
     Page<Comment> findAllByAuthor_Id(Long authorId, Pageable pageable);
+
+    /**
+     * Комментарий под блокировкой строки: смена статуса и счётчик события не расходятся при параллельных правках.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Comment> findForUpdateById(Long id);
 }
@@ -1,5 +1,6 @@
 package ru.practicum.comment.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
@@ -25,6 +26,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("ewm.service")
 @RequiredArgsConstructor
 public class CommentService {
     private final CommentRepository commentRepository;
@@ -52,26 +54,31 @@ public class CommentService {
 
     @Transactional
     public CommentDto updateOwn(Long userId, Long commentId, UpdateCommentDto body) {
-        Comment c = commentRepository.findById(commentId)
+        Comment c = commentRepository.findForUpdateById(commentId)
                 .orElseThrow(() -> new NotFoundException("Comment with id=" + commentId + " was not found"));
         if (!c.getAuthor().getId().equals(userId)) {
             throw new ForbiddenOperationException("Only author can edit the comment");
         }
+        CommentStatus before = c.getStatus();
         c.setText(body.getText());
         // any edit moves comment back to PENDING for re-moderation
         c.setStatus(CommentStatus.PENDING);
         c.setRejectReason(null);
+        adjustCommentCount(c, before);
         return mapper.toDto(commentRepository.save(c));
     }
 
     @Transactional
     public void deleteOwn(Long userId, Long commentId) {
-        Comment c = commentRepository.findById(commentId)
+        Comment c = commentRepository.findForUpdateById(commentId)
                 .orElseThrow(() -> new NotFoundException("Comment with id=" + commentId + " was not found"));
         if (!c.getAuthor().getId().equals(userId)) {
             throw new ForbiddenOperationException("Only author can delete the comment");
         }
-        commentRepository.deleteById(commentId);
+        commentRepository.delete(c);
+        if (c.getStatus() == CommentStatus.APPROVED) {
+            eventRepository.addCommentCount(c.getEvent().getId(), -1);
+        }
     }
 
     @Transactional(readOnly = true)
@@ -102,8 +109,9 @@ public class CommentService {
 
     @Transactional
     public CommentDto moderate(Long commentId, ModerateCommentRequest req) {
-        Comment c = commentRepository.findById(commentId)
+        Comment c = commentRepository.findForUpdateById(commentId)
                 .orElseThrow(() -> new NotFoundException("Comment with id=" + commentId + " was not found"));
+        CommentStatus before = c.getStatus();
         switch (req.getAction()) {
             case APPROVE -> {
                 c.setStatus(CommentStatus.APPROVED);
@@ -114,6 +122,14 @@ public class CommentService {
                 c.setRejectReason(req.getReason());
             }
         }
+        adjustCommentCount(c, before);
         return mapper.toDto(commentRepository.save(c));
     }
+
+    private void adjustCommentCount(Comment c, CommentStatus before) {
+        int delta = (c.getStatus() == CommentStatus.APPROVED ? 1 : 0) - (before == CommentStatus.APPROVED ? 1 : 0);
+        if (delta != 0) {
+            eventRepository.addCommentCount(c.getEvent().getId(), delta);
+        }
+    }
 }
@@ -0,0 +1,11 @@
+package ru.practicum.common.cache;
+
+public final class CacheNames {
+    private CacheNames() {
+    }
+
+    public static final String CATEGORY = "categoryDtos";
+    public static final String CATEGORY_PAGES = "categoryPages";
+    public static final String COMPILATION = "compilationDtos";
+    public static final String COMPILATION_PAGES = "compilationPages";
+}
@@ -0,0 +1,4 @@
+package ru.practicum.common.cache;
+
+public record EventChangedEvent(Long eventId) {
+}
@@ -0,0 +1,6 @@
+package ru.practicum.common.cache;
+
+import java.util.Collection;
+
+public record EventsChangedEvent(Collection<Long> eventIds) {
+}
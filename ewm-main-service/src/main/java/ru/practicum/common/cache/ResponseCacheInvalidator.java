@@ -0,0 +1,69 @@
+package ru.practicum.common.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.compilation.repository.CompilationRepository;
+
+import java.util.List;
+
+/**
+ * Сбрасывает кэш публичных ответов после коммита изменяющей транзакции.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ResponseCacheInvalidator {
+
+    private final CacheManager cacheManager;
+    private final CompilationRepository compilationRepository;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        evict(CacheNames.CATEGORY, event.categoryId());
+        clear(CacheNames.CATEGORY_PAGES);
+        // category name is embedded into every compilation's events
+        clear(CacheNames.COMPILATION);
+        clear(CacheNames.COMPILATION_PAGES);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCompilationChanged(CompilationChangedEvent event) {
+        evict(CacheNames.COMPILATION, event.compilationId());
+        clear(CacheNames.COMPILATION_PAGES);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent event) {
+        List<Long> compilationIds = compilationRepository.findIdsByEventId(event.eventId());
+        if (compilationIds.isEmpty()) return;
+        compilationIds.forEach(id -> evict(CacheNames.COMPILATION, id));
+        clear(CacheNames.COMPILATION_PAGES);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventsChanged(EventsChangedEvent event) {
+        List<Long> compilationIds = compilationRepository.findIdsByEventIds(event.eventIds());
+        if (compilationIds.isEmpty()) return;
+        compilationIds.forEach(id -> evict(CacheNames.COMPILATION, id));
+        clear(CacheNames.COMPILATION_PAGES);
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+            log.debug("Cache {} cleared", cacheName);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.common.errors;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
@@ -53,6 +54,13 @@ public class ErrorHandler {
                 ex.getMessage(), null);
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiError> handleConcurrentUpdate(OptimisticLockingFailureException ex) {
+        return build(HttpStatus.CONFLICT,
+                "The object was modified concurrently.",
+                ex.getMessage(), null);
+    }
+
     @ExceptionHandler({
             MethodArgumentNotValidException.class,
             ConstraintViolationException.class,
@@ -0,0 +1,49 @@
+package ru.practicum.common.geo;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.query.sqm.function.SqmFunctionRegistry;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Геофункции для Criteria API поверх earthdistance и геометрических типов Postgres.
+ * Выражения совпадают с индексами из V4__events_geo_indexes.sql, иначе планировщик их не подхватит.
+ */
+public class GeoFunctionContributor implements FunctionContributor {
+    /**
+     * {@code within_radius(lat, lon, latColumn, lonColumn, meters)}.
+     */
+    public static final String WITHIN_RADIUS = "within_radius";
+
+    /**
+     * {@code distance_meters(lat, lon, latColumn, lonColumn)}.
+     */
+    public static final String DISTANCE_METERS = "distance_meters";
+
+    /**
+     * {@code within_box(lonColumn, latColumn, minLon, minLat, maxLon, maxLat)}.
+     */
+    public static final String WITHIN_BOX = "within_box";
+
+    @Override
+    public void contributeFunctions(FunctionContributions contributions) {
+        SqmFunctionRegistry registry = contributions.getFunctionRegistry();
+        BasicType<Boolean> bool = contributions.getTypeConfiguration().getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.BOOLEAN);
+        BasicType<Double> dbl = contributions.getTypeConfiguration().getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.DOUBLE);
+
+        // earth_box — грубый куб для индекса, earth_distance отсекает углы
+        registry.registerPattern(WITHIN_RADIUS,
+                "(earth_box(ll_to_earth(?1, ?2), ?5) @> ll_to_earth(?3, ?4)"
+                        + " and earth_distance(ll_to_earth(?1, ?2), ll_to_earth(?3, ?4)) <= ?5)",
+                bool);
+        registry.registerPattern(DISTANCE_METERS,
+                "earth_distance(ll_to_earth(?1, ?2), ll_to_earth(?3, ?4))",
+                dbl);
+        registry.registerPattern(WITHIN_BOX,
+                "(point(?1, ?2) <@ box(point(?3, ?4), point(?5, ?6)))",
+                bool);
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.common.lease;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Аренда в таблице scheduler_leases: задачу выполняет только узел, удерживающий аренду.
+ * Время берётся из БД, поэтому расхождение часов между узлами не важно.
+ */
+@Component
+public class DbLease {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final String owner = hostName() + "/" + UUID.randomUUID();
+
+    /**
+     * Захватывает аренду или продлевает свою; false — аренда у другого узла и ещё не истекла.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean tryAcquire(String name, Duration ttl) {
+        int updated = em.createNativeQuery("""
+                        insert into scheduler_leases (name, owner, locked_until)
+                        values (:name, :owner, now() + make_interval(secs => :ttl))
+                        on conflict (name) do update
+                            set owner = excluded.owner, locked_until = excluded.locked_until
+                            where scheduler_leases.owner = excluded.owner or scheduler_leases.locked_until < now()
+                        """)
+                .setParameter("name", name)
+                .setParameter("owner", owner)
+                .setParameter("ttl", (double) ttl.toMillis() / 1000)
+                .executeUpdate();
+        return updated > 0;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void release(String name) {
+        em.createNativeQuery("update scheduler_leases set locked_until = now() where name = :name and owner = :owner")
+                .setParameter("name", name)
+                .setParameter("owner", owner)
+                .executeUpdate();
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
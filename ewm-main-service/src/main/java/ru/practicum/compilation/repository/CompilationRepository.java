@@ -1,18 +1,41 @@
 package ru.practicum.compilation.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.compilation.model.Compilation;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface CompilationRepository extends JpaRepository<Compilation, Long> {
 
+    /**
+     * Первая фаза выдачи страницы: только id, чтобы limit/offset выполнялись в БД, а не над join с событиями.
+     */
+    @Query("select c.id from Compilation c")
+    List<Long> findPageIds(Pageable pageable);
+
+    @Query("select c.id from Compilation c where c.pinned = :pinned")
+    List<Long> findPageIdsByPinned(@Param("pinned") boolean pinned, Pageable pageable);
+
+    /**
+     * Вторая фаза: подборки страницы вместе с событиями, их категориями и инициаторами одним запросом.
+     */
     @EntityGraph(attributePaths = {"events", "events.category", "events.initiator"})
-    Page<Compilation> findAll(Pageable pageable);
+    List<Compilation> findAllByIdIn(Collection<Long> ids);
 
     @EntityGraph(attributePaths = {"events", "events.category", "events.initiator"})
-    Page<Compilation> findAllByPinned(boolean pinned, Pageable pageable);
+    Optional<Compilation> findWithEventsById(Long id);
+
+    @Query("select c.id from Compilation c join c.events e where e.id = :eventId")
+    List<Long> findIdsByEventId(@Param("eventId") Long eventId);
+
+    @Query("select distinct c.id from Compilation c join c.events e where e.id in :eventIds")
+    List<Long> findIdsByEventIds(@Param("eventIds") Collection<Long> eventIds);
 }
@@ -1,9 +1,14 @@
 package ru.practicum.compilation.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.common.cache.CacheNames;
+import ru.practicum.common.cache.CompilationChangedEvent;
 import ru.practicum.common.errors.ConflictException;
 import ru.practicum.common.errors.NotFoundException;
 import ru.practicum.common.util.PageRequestUtil;
@@ -13,21 +18,28 @@ import ru.practicum.compilation.dto.UpdateCompilationRequest;
 import ru.practicum.compilation.mapper.CompilationMapper;
 import ru.practicum.compilation.model.Compilation;
 import ru.practicum.compilation.repository.CompilationRepository;
+import ru.practicum.event.dto.EventShortDto;
 import ru.practicum.event.model.Event;
 import ru.practicum.event.repository.EventRepository;
+import ru.practicum.event.service.EventService;
 
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("ewm.service")
 @RequiredArgsConstructor
 public class CompilationService {
 
     private final CompilationRepository compilationRepository;
     private final EventRepository eventRepository;
+    private final EventService eventService;
     private final CompilationMapper mapper;
+    private final ApplicationEventPublisher publisher;
 
     @Transactional
     public CompilationDto create(NewCompilationDto dto) {
@@ -38,18 +50,20 @@ public class CompilationService {
         compilation.setTitle(dto.getTitle());
         compilation.setPinned(dto.getPinned() != null ? dto.getPinned() : Boolean.FALSE);
         if (dto.getEvents() != null && !dto.getEvents().isEmpty()) {
-            Set<Event> events = new HashSet<>(eventRepository.findAllById(dto.getEvents()));
+            Set<Event> events = new HashSet<>(eventRepository.findAllByIdIn(dto.getEvents()));
             if (events.size() != new HashSet<>(dto.getEvents()).size()) {
                 throw new NotFoundException("One or more events not found for compilation");
             }
             compilation.setEvents(events);
         }
-        return mapper.toDto(compilationRepository.save(compilation));
+        Compilation saved = compilationRepository.save(compilation);
+        publisher.publishEvent(new CompilationChangedEvent(saved.getId()));
+        return toDto(saved);
     }
 
     @Transactional
     public CompilationDto update(Long compId, UpdateCompilationRequest dto) {
-        Compilation compilation = compilationRepository.findById(compId)
+        Compilation compilation = compilationRepository.findWithEventsById(compId)
                 .orElseThrow(() -> new NotFoundException("Compilation with id=" + compId + " was not found"));
         if (dto.getTitle() != null) {
             if (dto.getTitle().isBlank()) {
@@ -61,13 +75,15 @@ public class CompilationService {
             compilation.setPinned(dto.getPinned());
         }
         if (dto.getEvents() != null) {
-            Set<Event> events = new HashSet<>(eventRepository.findAllById(dto.getEvents()));
+            Set<Event> events = new HashSet<>(eventRepository.findAllByIdIn(dto.getEvents()));
             if (events.size() != new HashSet<>(dto.getEvents()).size()) {
                 throw new NotFoundException("One or more events not found for compilation");
             }
             compilation.setEvents(events);
         }
-        return mapper.toDto(compilationRepository.save(compilation));
+        Compilation saved = compilationRepository.save(compilation);
+        publisher.publishEvent(new CompilationChangedEvent(compId));
+        return toDto(saved);
     }
 
     @Transactional
@@ -75,24 +91,41 @@ public class CompilationService {
         Compilation compilation = compilationRepository.findById(compId)
                 .orElseThrow(() -> new NotFoundException("Compilation with id=" + compId + " was not found"));
         compilationRepository.delete(compilation);
+        publisher.publishEvent(new CompilationChangedEvent(compId));
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.COMPILATION, key = "#compId")
     public CompilationDto get(Long compId) {
-        Compilation compilation = compilationRepository.findById(compId)
+        Compilation compilation = compilationRepository.findWithEventsById(compId)
                 .orElseThrow(() -> new NotFoundException("Compilation with id=" + compId + " was not found"));
-        return mapper.toDto(compilation);
+        return toDto(compilation);
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.COMPILATION_PAGES)
     public List<CompilationDto> getAll(Boolean pinned, int from, int size) {
         var pageable = PageRequestUtil.of(from, size, Sort.by("id").ascending());
-        if (pinned == null) {
-            return compilationRepository.findAll(pageable)
-                    .stream().map(mapper::toDto).collect(Collectors.toList());
-        } else {
-            return compilationRepository.findAllByPinned(pinned, pageable)
-                    .stream().map(mapper::toDto).collect(Collectors.toList());
-        }
+        List<Long> ids = pinned == null
+                ? compilationRepository.findPageIds(pageable)
+                : compilationRepository.findPageIdsByPinned(pinned, pageable);
+        if (ids.isEmpty()) return List.of();
+        List<Compilation> page = compilationRepository.findAllByIdIn(ids).stream()
+                .sorted(Comparator.comparing(Compilation::getId))
+                .toList();
+        return toDtos(page);
+    }
+
+    private CompilationDto toDto(Compilation compilation) {
+        return toDtos(List.of(compilation)).get(0);
+    }
+
+    /**
+     * События всех подборок обогащаются разом: один запрос заявок и один запрос просмотров на страницу.
+     */
+    private List<CompilationDto> toDtos(List<Compilation> compilations) {
+        List<Event> events = compilations.stream().flatMap(c -> c.getEvents().stream()).toList();
+        Map<Long, EventShortDto> shortDtos = eventService.toShortDtos(events);
+        return compilations.stream().map(c -> mapper.toDto(c, shortDtos)).collect(Collectors.toList());
     }
 }
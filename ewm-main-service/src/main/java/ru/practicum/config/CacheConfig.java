@@ -0,0 +1,32 @@
+package ru.practicum.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.common.cache.CacheNames;
+
+import java.util.List;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties({CacheProperties.class, HttpCacheProperties.class})
+public class CacheConfig {
+
+    private static final String DEFAULT_SPEC = "maximumSize=1000,expireAfterWrite=10m";
+
+    @Bean
+    public CacheManager cacheManager(CacheProperties props) {
+        CaffeineCacheManager manager = new CaffeineCacheManager();
+        manager.setAllowNullValues(false);
+        for (String name : List.of(CacheNames.CATEGORY, CacheNames.CATEGORY_PAGES,
+                CacheNames.COMPILATION, CacheNames.COMPILATION_PAGES)) {
+            String spec = props.getSpecs().getOrDefault(name, DEFAULT_SPEC);
+            manager.registerCustomCache(name, Caffeine.from(spec).recordStats().build());
+        }
+        return manager;
+    }
+}
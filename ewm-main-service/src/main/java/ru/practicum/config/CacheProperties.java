@@ -0,0 +1,18 @@
+package ru.practicum.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ewm.cache")
+public class CacheProperties {
+    /**
+     * Спецификация Caffeine для каждого кэша, например {@code maximumSize=500,expireAfterWrite=10m}.
+     */
+    private Map<String, String> specs = new LinkedHashMap<>();
+}
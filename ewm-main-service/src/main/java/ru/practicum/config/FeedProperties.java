@@ -0,0 +1,39 @@
+package ru.practicum.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ewm.feed")
+public class FeedProperties {
+    /**
+     * Сколько уведомлений может ждать отправки одному подписчику; при переполнении поток закрывается,
+     * и клиент дочитывает пропущенное по Last-Event-ID.
+     */
+    private int bufferSize = 256;
+
+    /**
+     * Период комментария-пульса, который держит соединение открытым через прокси.
+     */
+    private Duration heartbeat = Duration.ofSeconds(15);
+
+    /**
+     * Максимальная длительность одного соединения; после неё клиент переподключается.
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    /**
+     * Сколько событий отдаётся при возобновлении по Last-Event-ID; если пропущено больше, приходит resync.
+     */
+    private int replayLimit = 500;
+
+    /**
+     * Насколько раньше курсора перечитывается лента при возобновлении: publishedOn — время начала транзакции,
+     * и публикация, закоммиченная позже соседней, может оказаться перед ней. Должно перекрывать самую долгую публикацию.
+     */
+    private Duration replayLookback = Duration.ofMinutes(1);
+}
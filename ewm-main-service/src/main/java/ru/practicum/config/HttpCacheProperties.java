@@ -0,0 +1,17 @@
+package ru.practicum.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ewm.http")
+public class HttpCacheProperties {
+    /**
+     * Как долго ETag публичных событий не учитывает изменение просмотров и заявок.
+     */
+    private Duration countersBucket = Duration.ofSeconds(30);
+}
@@ -0,0 +1,47 @@
+package ru.practicum.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.springframework.boot.actuate.metrics.data.DefaultRepositoryTagsProvider;
+import org.springframework.boot.actuate.metrics.data.RepositoryTagsProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocation;
+import ru.practicum.servicecommon.metrics.EndpointTags;
+
+/**
+ * Таймеры {@code @Timed} на сервисах и метрики репозиториев, размеченные эндпоинтом входящего запроса.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry, (ProceedingJoinPoint pjp) -> Tags.of(
+                Tag.of("class", pjp.getStaticPart().getSignature().getDeclaringType().getSimpleName()),
+                Tag.of("method", pjp.getStaticPart().getSignature().getName()),
+                EndpointTags.current()));
+    }
+
+    /**
+     * URL запросов к stats-server содержит весь список uris — без обрезки query каждый вызов давал бы новую серию.
+     */
+    @Bean
+    public MeterFilter statsClientUriFilter() {
+        return MeterFilter.replaceTagValues("uri", uri -> {
+            int q = uri.indexOf('?');
+            return q < 0 ? uri : uri.substring(0, q);
+        });
+    }
+
+    @Bean
+    public RepositoryTagsProvider repositoryTagsProvider() {
+        DefaultRepositoryTagsProvider defaults = new DefaultRepositoryTagsProvider();
+        return (RepositoryMethodInvocation invocation) -> Tags.of(defaults.repositoryTags(invocation))
+                .and(EndpointTags.current());
+    }
+}
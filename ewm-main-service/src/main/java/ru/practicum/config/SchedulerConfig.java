@@ -0,0 +1,14 @@
+package ru.practicum.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Настройки планировщика нужны и при выключенном планировщике: по move-to-archive-after чтение решает, смотреть ли в архив.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(SchedulerProperties.class)
+public class SchedulerConfig {
+}
@@ -0,0 +1,39 @@
+package ru.practicum.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ewm.scheduler")
+public class SchedulerProperties {
+    private boolean enabled = true;
+
+    /**
+     * Пауза между запусками планировщика; в формате ISO-8601 (PT30S) — его читает и {@code @Scheduled}.
+     */
+    private Duration interval = Duration.ofSeconds(30);
+
+    /**
+     * Сколько событий переводится одним UPDATE (и одной транзакцией).
+     */
+    private int batchSize = 500;
+
+    /**
+     * Срок аренды; должен быть больше интервала, иначе аренда будет переходить между узлами.
+     */
+    private Duration leaseTtl = Duration.ofMinutes(2);
+
+    /**
+     * Опубликованное событие архивируется, когда с даты его проведения прошло столько времени.
+     */
+    private Duration archiveAfter = Duration.ofDays(1);
+
+    /**
+     * Событие (в любом состоянии) переносится в events_archive, когда с даты его проведения прошло столько времени.
+     */
+    private Duration moveToArchiveAfter = Duration.ofDays(180);
+}
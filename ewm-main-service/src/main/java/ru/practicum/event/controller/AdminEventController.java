@@ -1,5 +1,8 @@
 package ru.practicum.event.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Positive;
@@ -8,9 +11,15 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.event.dto.EventFullDto;
+import ru.practicum.event.dto.EventModerationRequest;
+import ru.practicum.event.dto.EventModerationResult;
 import ru.practicum.event.dto.UpdateEventAdminRequest;
+import ru.practicum.event.export.EventExportFormat;
+import ru.practicum.event.export.EventExportWriter;
 import ru.practicum.event.service.EventService;
+import ru.practicum.servicecommon.sql.SqlStatsFilter;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -21,6 +30,7 @@ import java.util.List;
 public class AdminEventController {
 
     private final EventService service;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     public List<EventFullDto> search(@RequestParam(required = false) List<Long> users,
@@ -33,6 +43,29 @@ public class AdminEventController {
         return service.adminSearch(users, states, categories, rangeStart, rangeEnd, from, size);
     }
 
+    /**
+     * Выгрузка всех событий под теми же фильтрами, что и поиск, потоком NDJSON или CSV.
+     */
+    @GetMapping("/export")
+    public void export(@RequestParam(required = false) List<Long> users,
+                       @RequestParam(required = false) List<String> states,
+                       @RequestParam(required = false) List<Long> categories,
+                       @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime rangeStart,
+                       @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime rangeEnd,
+                       @RequestParam(defaultValue = "ndjson") String format,
+                       HttpServletRequest request,
+                       HttpServletResponse response) throws IOException {
+        SqlStatsFilter.markStreaming(request);
+        EventExportWriter writer = new EventExportWriter(EventExportFormat.from(format), response, objectMapper);
+        service.adminExport(users, states, categories, rangeStart, rangeEnd, writer::write);
+        writer.finish();
+    }
+
+    @PatchMapping
+    public List<EventModerationResult> moderate(@Valid @RequestBody EventModerationRequest body) {
+        return service.adminModerate(body);
+    }
+
     @PatchMapping("/{eventId}")
     public EventFullDto update(@PathVariable Long eventId,
                                @Valid @RequestBody UpdateEventAdminRequest body) {
@@ -1,15 +1,24 @@
 package ru.practicum.event.controller;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Positive;
 import org.springframework.format.annotation.DateTimeFormat;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.event.dto.EventFullDto;
 import ru.practicum.event.dto.EventShortDto;
+import ru.practicum.event.dto.GeoFilter;
+import ru.practicum.event.feed.PublishedEventFeed;
+import ru.practicum.event.service.EventFreshness;
 import ru.practicum.event.service.EventService;
+import ru.practicum.servicecommon.sql.SqlStatsFilter;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -21,6 +30,7 @@ import java.util.List;
 public class PublicEventController {
 
     private final EventService service;
+    private final PublishedEventFeed feed;
 
     @GetMapping
     public List<EventShortDto> get(@RequestParam(required = false) String text,
@@ -28,16 +38,49 @@ public class PublicEventController {
                                    @RequestParam(required = false) Boolean paid,
                                    @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime rangeStart,
                                    @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime rangeEnd,
+                                   @RequestParam(required = false) @DecimalMin("-90") @DecimalMax("90") Double lat,
+                                   @RequestParam(required = false) @DecimalMin("-180") @DecimalMax("180") Double lon,
+                                   @RequestParam(required = false) @Positive @DecimalMax("20000") Double radius,
+                                   @RequestParam(required = false) @DecimalMin("-90") @DecimalMax("90") Double minLat,
+                                   @RequestParam(required = false) @DecimalMin("-90") @DecimalMax("90") Double maxLat,
+                                   @RequestParam(required = false) @DecimalMin("-180") @DecimalMax("180") Double minLon,
+                                   @RequestParam(required = false) @DecimalMin("-180") @DecimalMax("180") Double maxLon,
                                    @RequestParam(required = false) Boolean onlyAvailable,
                                    @RequestParam(required = false, defaultValue = "EVENT_DATE") String sort,
                                    @RequestParam(defaultValue = "0") @Min(0) int from,
                                    @RequestParam(defaultValue = "10") @Positive int size,
-                                   HttpServletRequest request) {
-        return service.publicSearch(text, categories, paid, rangeStart, rangeEnd, onlyAvailable, sort, from, size, request);
+                                   HttpServletRequest request,
+                                   WebRequest webRequest) {
+        service.logHit(request);
+        GeoFilter geo = new GeoFilter(lat, lon, radius, minLat, maxLat, minLon, maxLon);
+        EventFreshness freshness = service.publicSearchFreshness(text, categories, paid, rangeStart, rangeEnd, geo,
+                sort, from, size);
+        if (webRequest.checkNotModified(freshness.etag(), freshness.lastModified())) {
+            return null;
+        }
+        return service.publicSearch(text, categories, paid, rangeStart, rangeEnd, geo, onlyAvailable, sort, from, size);
     }
 
     @GetMapping("/{id}")
-    public EventFullDto getById(@PathVariable Long id, HttpServletRequest request) {
-        return service.publicGetById(id, request);
+    public EventFullDto getById(@PathVariable Long id, HttpServletRequest request, WebRequest webRequest) {
+        service.logHit(request);
+        EventFreshness freshness = service.publicFreshness(id);
+        if (webRequest.checkNotModified(freshness.etag(), freshness.lastModified())) {
+            return null;
+        }
+        return service.publicGetById(id);
+    }
+
+    /**
+     * Поток только что опубликованных событий; lastEventId (или заголовок Last-Event-ID) — id последнего полученного.
+     */
+    @GetMapping(path = "/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter feed(@RequestParam(required = false) List<Long> categories,
+                           @RequestParam(required = false) Boolean paid,
+                           @RequestParam(required = false) Long lastEventId,
+                           @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventIdHeader,
+                           HttpServletRequest request) {
+        SqlStatsFilter.markStreaming(request);
+        return feed.subscribe(categories, paid, lastEventId != null ? lastEventId : lastEventIdHeader);
     }
 }
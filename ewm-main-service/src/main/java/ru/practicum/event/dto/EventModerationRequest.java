@@ -0,0 +1,18 @@
+package ru.practicum.event.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class EventModerationRequest {
+    @NotEmpty
+    @Size(max = 1000)
+    private List<@NotNull Long> eventIds;
+
+    @NotNull
+    private UpdateEventAdminRequest.AdminStateAction stateAction;
+}
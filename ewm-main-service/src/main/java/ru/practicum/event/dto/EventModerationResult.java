@@ -0,0 +1,27 @@
+package ru.practicum.event.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Итог модерации одного события из пачки; {@code event} заполнен только для изменённых.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EventModerationResult {
+    private Long eventId;
+    private Outcome outcome;
+    private String message;
+    private EventFullDto event;
+
+    public enum Outcome {
+        PUBLISHED,
+        REJECTED,
+        NOT_FOUND,
+        CONFLICT
+    }
+}
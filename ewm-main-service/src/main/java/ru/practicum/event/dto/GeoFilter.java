@@ -0,0 +1,40 @@
+package ru.practicum.event.dto;
+
+/**
+ * Гео-параметры публичного поиска: центр с радиусом в километрах и/или прямоугольник.
+ * Центр без радиуса нужен только для сортировки по расстоянию.
+ */
+public record GeoFilter(Double lat, Double lon, Double radius,
+                        Double minLat, Double maxLat, Double minLon, Double maxLon) {
+
+    public static final GeoFilter NONE = new GeoFilter(null, null, null, null, null, null, null);
+
+    public boolean hasCenter() {
+        return lat != null && lon != null;
+    }
+
+    public boolean hasRadius() {
+        return radius != null;
+    }
+
+    public boolean hasBox() {
+        return minLat != null || maxLat != null || minLon != null || maxLon != null;
+    }
+
+    public void validate() {
+        if ((lat == null) != (lon == null)) {
+            throw new IllegalArgumentException("lat and lon must be provided together");
+        }
+        if (hasRadius() && !hasCenter()) {
+            throw new IllegalArgumentException("radius requires lat and lon");
+        }
+        if (hasBox()) {
+            if (minLat == null || maxLat == null || minLon == null || maxLon == null) {
+                throw new IllegalArgumentException("minLat, maxLat, minLon and maxLon must be provided together");
+            }
+            if (minLat > maxLat) {
+                throw new IllegalArgumentException("minLat must not be greater than maxLat");
+            }
+        }
+    }
+}
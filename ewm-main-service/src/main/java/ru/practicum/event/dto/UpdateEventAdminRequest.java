@@ -1,6 +1,7 @@
 package ru.practicum.event.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
@@ -34,6 +35,13 @@ public class UpdateEventAdminRequest {
 
     private AdminStateAction stateAction;
 
+    /**
+     * Опубликовать ожидающее событие в указанное время; не сочетается с stateAction.
+     */
+    @Future
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime publishOn;
+
     public enum AdminStateAction {
         PUBLISH_EVENT,
         REJECT_EVENT
@@ -0,0 +1,107 @@
+package ru.practicum.event.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import ru.practicum.common.util.DateTimeUtil;
+import ru.practicum.event.dto.EventFullDto;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Пишет выгрузку в ответ по мере поступления порций. Заголовки выставляются при первой записи,
+ * поэтому ошибки проверки фильтров до неё ещё уходят обычным JSON-ответом.
+ */
+public class EventExportWriter {
+    private static final List<String> CSV_COLUMNS = List.of("id", "title", "annotation", "description",
+            "category_id", "category_name", "initiator_id", "initiator_name", "event_date", "created_on",
+            "published_on", "publish_on", "state", "paid", "participant_limit", "request_moderation",
+            "location_lat", "location_lon", "views", "confirmed_requests",
+            "comment_count");
+
+    private final EventExportFormat format;
+    private final HttpServletResponse response;
+    private final ObjectMapper objectMapper;
+    private Writer out;
+
+    public EventExportWriter(EventExportFormat format, HttpServletResponse response, ObjectMapper objectMapper) {
+        this.format = format;
+        this.response = response;
+        this.objectMapper = objectMapper;
+    }
+
+    public void write(List<EventFullDto> chunk) {
+        try {
+            Writer w = open();
+            for (EventFullDto dto : chunk) {
+                if (format == EventExportFormat.CSV) {
+                    writeCsvRow(w, csvValues(dto));
+                } else {
+                    w.write(objectMapper.writeValueAsString(dto));
+                    w.write('\n');
+                }
+            }
+            w.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public void finish() throws IOException {
+        open().flush();
+    }
+
+    private Writer open() throws IOException {
+        if (out == null) {
+            response.setContentType(format.contentType());
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename("events." + format.extension())
+                    .build()
+                    .toString());
+            out = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+            if (format == EventExportFormat.CSV) {
+                writeCsvRow(out, CSV_COLUMNS.toArray());
+            }
+        }
+        return out;
+    }
+
+    private static Object[] csvValues(EventFullDto dto) {
+        return new Object[]{
+                dto.getId(), dto.getTitle(), dto.getAnnotation(), dto.getDescription(),
+                dto.getCategory() == null ? null : dto.getCategory().getId(),
+                dto.getCategory() == null ? null : dto.getCategory().getName(),
+                dto.getInitiator() == null ? null : dto.getInitiator().getId(),
+                dto.getInitiator() == null ? null : dto.getInitiator().getName(),
+                DateTimeUtil.format(dto.getEventDate()), DateTimeUtil.format(dto.getCreatedOn()),
+                DateTimeUtil.format(dto.getPublishedOn()), DateTimeUtil.format(dto.getPublishOn()),
+                dto.getState(), dto.getPaid(), dto.getParticipantLimit(), dto.getRequestModeration(),
+                dto.getLocation() == null ? null : dto.getLocation().getLat(),
+                dto.getLocation() == null ? null : dto.getLocation().getLon(),
+                dto.getViews(), dto.getConfirmedRequests(), dto.getCommentCount()
+        };
+    }
+
+    private static void writeCsvRow(Writer w, Object[] values) throws IOException {
+        w.write(Arrays.stream(values).map(EventExportWriter::csvCell).collect(Collectors.joining(",")));
+        w.write("\r\n");
+    }
+
+    /**
+     * RFC 4180: поле с запятой, кавычкой или переводом строки берётся в кавычки, кавычки удваиваются.
+     */
+    private static String csvCell(Object value) {
+        if (value == null) return "";
+        String s = value.toString();
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0 && s.indexOf('\r') < 0) {
+            return s;
+        }
+        return '"' + s.replace("\"", "\"\"") + '"';
+    }
+}
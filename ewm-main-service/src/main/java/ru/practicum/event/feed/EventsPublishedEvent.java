@@ -0,0 +1,6 @@
+package ru.practicum.event.feed;
+
+import java.util.Collection;
+
+public record EventsPublishedEvent(Collection<Long> eventIds) {
+}
@@ -0,0 +1,125 @@
+package ru.practicum.event.feed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.event.dto.EventShortDto;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Подписчик ленты: фильтр, ограниченная очередь и виртуальный поток, который пишет из неё в SseEmitter.
+ */
+@Slf4j
+class FeedSubscription {
+    static final String PUBLISHED = "published";
+    static final String RESYNC = "resync";
+
+    private final SseEmitter emitter;
+    private final Set<Long> categories;
+    private final Boolean paid;
+    private final BlockingQueue<EventShortDto> queue;
+    private final Duration heartbeat;
+    private final Consumer<FeedSubscription> onClose;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile Thread sender;
+
+    FeedSubscription(SseEmitter emitter, Collection<Long> categories, Boolean paid, int bufferSize,
+                     Duration heartbeat, Consumer<FeedSubscription> onClose) {
+        this.emitter = emitter;
+        this.categories = categories == null || categories.isEmpty() ? null : Set.copyOf(categories);
+        this.paid = paid;
+        this.queue = new ArrayBlockingQueue<>(bufferSize);
+        this.heartbeat = heartbeat;
+        this.onClose = onClose;
+    }
+
+    boolean matches(EventShortDto dto) {
+        if (paid != null && !paid.equals(dto.getPaid())) return false;
+        return categories == null || (dto.getCategory() != null && categories.contains(dto.getCategory().getId()));
+    }
+
+    /**
+     * Не блокирует публикующий поток: false означает, что подписчик не успевает читать.
+     */
+    boolean offer(EventShortDto dto) {
+        return queue.offer(dto);
+    }
+
+    /**
+     * Сначала отдаёт пропущенное с момента Last-Event-ID, затем живые уведомления из очереди.
+     * Живые уведомления, уже попавшие в replay, пропускаются.
+     */
+    void start(List<EventShortDto> replay, boolean resync) {
+        sender = Thread.ofVirtual().name("event-feed-subscriber").start(() -> run(replay, resync));
+    }
+
+    void close() {
+        close(true);
+    }
+
+    /**
+     * После ошибки записи emitter не завершается: контейнер сам закроет асинхронный запрос.
+     */
+    private void close(boolean completeEmitter) {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        onClose.accept(this);
+        Thread t = sender;
+        if (t != null && t != Thread.currentThread()) {
+            t.interrupt();
+        }
+        if (!completeEmitter) {
+            return;
+        }
+        try {
+            emitter.complete();
+        } catch (RuntimeException ignored) {
+            // соединение уже закрыто
+        }
+    }
+
+    private void run(List<EventShortDto> replay, boolean resync) {
+        boolean disconnected = false;
+        try {
+            Set<Long> replayed = new HashSet<>();
+            for (EventShortDto dto : replay) {
+                send(dto);
+                replayed.add(dto.getId());
+            }
+            if (resync) {
+                emitter.send(SseEmitter.event().name(RESYNC).data("Missed events cannot be replayed, reload GET /events"));
+            }
+            while (!closed.get()) {
+                EventShortDto dto = queue.poll(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+                if (dto == null) {
+                    emitter.send(SseEmitter.event().comment("ping"));
+                } else if (!replayed.remove(dto.getId())) {
+                    send(dto);
+                }
+            }
+        } catch (IOException | IllegalStateException ex) {
+            disconnected = true;
+            log.debug("Feed subscriber disconnected: {}", ex.getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            close(!disconnected);
+        }
+    }
+
+    private void send(EventShortDto dto) throws IOException {
+        emitter.send(SseEmitter.event()
+                .id(String.valueOf(dto.getId()))
+                .name(PUBLISHED)
+                .data(dto, MediaType.APPLICATION_JSON));
+    }
+}
@@ -0,0 +1,166 @@
+package ru.practicum.event.feed;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.config.FeedProperties;
+import ru.practicum.event.dto.EventShortDto;
+import ru.practicum.event.mapper.EventMapper;
+import ru.practicum.event.model.Event;
+import ru.practicum.event.model.EventState;
+import ru.practicum.event.repository.EventRepository;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Лента только что опубликованных событий: после коммита публикации рассылает EventShortDto подписчикам SSE.
+ * Рассылка внутри процесса — подписчики узла получают публикации, сделанные этим узлом; пропущенное
+ * (в том числе с других узлов) клиент дочитывает из базы при переподключении по Last-Event-ID.
+ * Дочитывание начинается за {@code replay-lookback} до курсора, поэтому публикация, закоммиченная позже
+ * соседней, не теряется; из этого окна отбрасывается то, что узел уже разослал до курсора, а для курсора
+ * с другого узла события окна могут прийти повторно — клиент сверяет их по id.
+ * Просмотры и подтверждённые заявки в уведомлениях нулевые: событие только что опубликовано.
+ */
+@Slf4j
+@Component
+public class PublishedEventFeed {
+    private static final Comparator<Event> PUBLICATION_ORDER =
+            Comparator.comparing(Event::getPublishedOn).thenComparing(Event::getId);
+
+    private final Set<FeedSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+    // id, разосланные этим узлом, в порядке доставки; пишет только поток fanOut
+    private final Deque<Long> delivered = new ArrayDeque<>();
+    private final ExecutorService fanOut =
+            Executors.newSingleThreadExecutor(Thread.ofPlatform().name("event-feed").daemon().factory());
+    private final EventRepository eventRepository;
+    private final EventMapper mapper;
+    // чтение после коммита идёт в read-write транзакции, чтобы не попасть на отстающую реплику
+    private final TransactionTemplate tx;
+    private final FeedProperties props;
+    private final Counter overflows;
+
+    public PublishedEventFeed(EventRepository eventRepository, EventMapper mapper, TransactionTemplate tx,
+                              FeedProperties props, MeterRegistry registry) {
+        this.eventRepository = eventRepository;
+        this.mapper = mapper;
+        this.tx = tx;
+        this.props = props;
+        Gauge.builder("ewm.feed.subscribers", subscriptions, Set::size)
+                .description("Open published events feed connections")
+                .register(registry);
+        this.overflows = Counter.builder("ewm.feed.overflows")
+                .description("Feed subscribers disconnected because their buffer was full")
+                .register(registry);
+    }
+
+    public SseEmitter subscribe(Collection<Long> categories, Boolean paid, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(props.getTimeout().toMillis());
+        FeedSubscription subscription = new FeedSubscription(emitter, categories, paid, props.getBufferSize(),
+                props.getHeartbeat(), subscriptions::remove);
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(ex -> subscription.close());
+        // подписка регистрируется до чтения replay, чтобы не потерять публикации между ними
+        subscriptions.add(subscription);
+        Replay replay = lastEventId == null ? Replay.NONE : replay(lastEventId);
+        subscription.start(replay.events().stream().filter(subscription::matches).toList(), replay.resync());
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPublished(EventsPublishedEvent event) {
+        if (subscriptions.isEmpty() || event.eventIds().isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(event.eventIds());
+        fanOut.execute(() -> deliver(ids));
+    }
+
+    @PreDestroy
+    public void stop() {
+        fanOut.shutdownNow();
+        List.copyOf(subscriptions).forEach(FeedSubscription::close);
+    }
+
+    private void deliver(List<Long> ids) {
+        List<EventShortDto> published;
+        try {
+            published = tx.execute(status -> eventRepository.findAllByIdIn(ids).stream()
+                    .filter(e -> e.getState() == EventState.PUBLISHED && e.getPublishedOn() != null)
+                    .sorted(PUBLICATION_ORDER)
+                    .map(e -> mapper.toShortDto(e, 0L, 0L))
+                    .toList());
+        } catch (RuntimeException ex) {
+            log.warn("Failed to load published events {} for the feed: {}", ids, ex.getMessage());
+            return;
+        }
+        synchronized (delivered) {
+            for (EventShortDto dto : published) {
+                delivered.addLast(dto.getId());
+            }
+            while (delivered.size() > props.getReplayLimit()) {
+                delivered.removeFirst();
+            }
+        }
+        for (EventShortDto dto : published) {
+            for (FeedSubscription subscription : subscriptions) {
+                if (subscription.matches(dto) && !subscription.offer(dto)) {
+                    overflows.increment();
+                    subscription.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Опубликованные начиная с окна перед событием lastEventId, кроме уже полученных клиентом, в порядке публикации.
+     * Неизвестный курсор (событие удалено или перенесено в архив) и усечение по лимиту дают resync.
+     */
+    private Replay replay(Long lastEventId) {
+        Set<Long> seen = seenUpTo(lastEventId);
+        List<Event> events = tx.execute(status -> eventRepository.findPublishedOnById(lastEventId)
+                .map(publishedOn -> eventRepository.findPublishedSince(publishedOn.minus(props.getReplayLookback()),
+                        seen, PageRequest.of(0, props.getReplayLimit() + 1)))
+                .orElse(null));
+        if (events == null) {
+            return new Replay(List.of(), true);
+        }
+        return new Replay(events.stream()
+                .limit(props.getReplayLimit())
+                .map(e -> mapper.toShortDto(e, 0L, 0L))
+                .toList(), events.size() > props.getReplayLimit());
+    }
+
+    /**
+     * Курсор и всё, что этот узел разослал до него; курсор, которого нет в журнале доставки, отсекает только себя.
+     */
+    private Set<Long> seenUpTo(Long lastEventId) {
+        synchronized (delivered) {
+            if (!delivered.contains(lastEventId)) {
+                return Set.of(lastEventId);
+            }
+            Set<Long> seen = new HashSet<>();
+            for (Long id : delivered) {
+                seen.add(id);
+                if (id.equals(lastEventId)) {
+                    return seen;
+                }
+            }
+            return seen;
+        }
+    }
+
+    private record Replay(List<EventShortDto> events, boolean resync) {
+        static final Replay NONE = new Replay(List.of(), false);
+    }
+}
@@ -36,12 +36,14 @@ public class EventMapper {
                 .eventDate(e.getEventDate())
                 .createdOn(e.getCreatedOn())
                 .publishedOn(e.getPublishedOn())
+                .publishOn(e.getPublishOn())
                 .paid(e.getPaid())
                 .participantLimit(e.getParticipantLimit())
                 .requestModeration(e.getRequestModeration())
                 .location(loc)
                 .views(views)
                 .confirmedRequests(confirmed)
+                .commentCount(e.getCommentCount())
                 .state(e.getState() == null ? null : e.getState().name())
                 .build();
     }
@@ -60,6 +62,7 @@ public class EventMapper {
                 .paid(e.getPaid())
                 .views(views)
                 .confirmedRequests(confirmed)
+                .commentCount(e.getCommentCount())
                 .build();
     }
 }
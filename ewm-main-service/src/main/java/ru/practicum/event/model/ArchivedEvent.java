@@ -0,0 +1,92 @@
+package ru.practicum.event.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import ru.practicum.category.model.Category;
+import ru.practicum.user.model.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Событие, перенесённое в events_archive; только для чтения.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "events_archive")
+public class ArchivedEvent {
+
+    @Id
+    private Long id;
+
+    private String annotation;
+
+    private String title;
+
+    private String description;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id")
+    private Category category;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "initiator_id")
+    private User initiator;
+
+    private LocalDateTime eventDate;
+
+    private LocalDateTime createdOn;
+
+    private LocalDateTime publishedOn;
+
+    private LocalDateTime publishOn;
+
+    private LocalDateTime updatedOn;
+
+    private Boolean paid;
+
+    private Integer participantLimit;
+
+    private Boolean requestModeration;
+
+    @Enumerated(EnumType.STRING)
+    private EventState state;
+
+    private Double locationLat;
+
+    private Double locationLon;
+
+    private Long version;
+
+    private Long commentCount;
+
+    /**
+     * Несохраняемая копия в виде {@link Event}, чтобы отдавать архив через общий маппер.
+     */
+    public Event toEvent() {
+        return Event.builder()
+                .id(id)
+                .annotation(annotation)
+                .title(title)
+                .description(description)
+                .category(category)
+                .initiator(initiator)
+                .eventDate(eventDate)
+                .createdOn(createdOn)
+                .publishedOn(publishedOn)
+                .publishOn(publishOn)
+                .updatedOn(updatedOn)
+                .paid(paid)
+                .participantLimit(participantLimit)
+                .requestModeration(requestModeration)
+                .state(state)
+                .locationLat(locationLat)
+                .locationLon(locationLon)
+                .version(version)
+                .commentCount(commentCount)
+                .build();
+    }
+}
@@ -5,7 +5,9 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 import ru.practicum.category.model.Category;
 import ru.practicum.user.model.User;
 
@@ -20,7 +22,8 @@ import java.time.LocalDateTime;
 public class Event {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "events_seq")
+    @SequenceGenerator(name = "events_seq", sequenceName = "events_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 2000)
@@ -58,6 +61,15 @@ public class Event {
 
     private LocalDateTime publishedOn;
 
+    /**
+     * Назначенное время публикации ожидающего события; публикует {@code EventTransitionScheduler}.
+     */
+    private LocalDateTime publishOn;
+
+    @UpdateTimestamp
+    @Column(name = "updated_on")
+    private LocalDateTime updatedOn;
+
     @Builder.Default
     @Column(nullable = false)
     private Boolean paid = Boolean.FALSE;
@@ -80,4 +92,17 @@ public class Event {
 
     @Column(name = "location_lon")
     private Double locationLon;
+
+    /**
+     * Число одобренных комментариев; меняется только через {@code EventRepository.addCommentCount}.
+     */
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "comment_count", nullable = false, insertable = false, updatable = false)
+    private Long commentCount = 0L;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
@@ -0,0 +1,7 @@
+package ru.practicum.event.model;
+
+import java.time.LocalDateTime;
+
+public record EventStamp(Long id, Long version, EventState state, LocalDateTime updatedOn,
+                         Long commentCount) {
+}
@@ -3,5 +3,16 @@ package ru.practicum.event.model;
 public enum EventState {
     PENDING,
     PUBLISHED,
-    CANCELED
+    CANCELED,
+    /**
+     * Прошедшее событие, выведенное из публичной выдачи планировщиком.
+     */
+    ARCHIVED;
+
+    /**
+     * Событие уже прошло публикацию (в том числе ушло в ARCHIVED): его нельзя править, отклонять и возвращать на модерацию.
+     */
+    public boolean wasPublished() {
+        return this == PUBLISHED || this == ARCHIVED;
+    }
 }
@@ -0,0 +1,16 @@
+package ru.practicum.event.repository;
+
+import ru.practicum.event.model.EventState;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface AdminEventIdRepository {
+    /**
+     * Страница id событий под фильтрами админского поиска по возрастанию id — из живой таблицы и архива вместе.
+     * Пустой или null фильтр не ограничивает выборку.
+     */
+    List<Long> findAdminEventIds(Collection<Long> users, Collection<EventState> states, Collection<Long> categories,
+                                 LocalDateTime rangeStart, LocalDateTime rangeEnd, long offset, int limit);
+}
@@ -0,0 +1,56 @@
+package ru.practicum.event.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import ru.practicum.event.model.EventState;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+public class AdminEventIdRepositoryImpl implements AdminEventIdRepository {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Long> findAdminEventIds(Collection<Long> users, Collection<EventState> states,
+                                        Collection<Long> categories, LocalDateTime rangeStart,
+                                        LocalDateTime rangeEnd, long offset, int limit) {
+        StringJoiner where = new StringJoiner(" and ", " where ", "").setEmptyValue("");
+        Map<String, Object> params = new HashMap<>();
+        if (users != null && !users.isEmpty()) {
+            where.add("initiator_id in :users");
+            params.put("users", users);
+        }
+        if (states != null && !states.isEmpty()) {
+            where.add("state in :states");
+            params.put("states", states.stream().map(EventState::name).toList());
+        }
+        if (categories != null && !categories.isEmpty()) {
+            where.add("category_id in :categories");
+            params.put("categories", categories);
+        }
+        if (rangeStart != null) {
+            where.add("event_date >= :rangeStart");
+            params.put("rangeStart", rangeStart);
+        }
+        if (rangeEnd != null) {
+            where.add("event_date <= :rangeEnd");
+            params.put("rangeEnd", rangeEnd);
+        }
+        // тот же приём, что и в findInitiatorEventIds: страница строится в базе по обеим таблицам сразу
+        Query query = em.createNativeQuery("select id from events" + where
+                + " union all select id from events_archive" + where
+                + " order by id offset :offset limit :limit", Long.class);
+        params.forEach(query::setParameter);
+        return query.setParameter("offset", offset)
+                .setParameter("limit", limit)
+                .getResultList();
+    }
+}
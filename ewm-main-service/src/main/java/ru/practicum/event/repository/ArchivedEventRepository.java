@@ -0,0 +1,73 @@
+package ru.practicum.event.repository;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ru.practicum.event.model.ArchivedEvent;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedEventRepository extends JpaRepository<ArchivedEvent, Long>,
+        JpaSpecificationExecutor<ArchivedEvent>, AdminEventIdRepository {
+
+    @EntityGraph(attributePaths = {"category", "initiator"})
+    List<ArchivedEvent> findAllByIdIn(Collection<Long> ids);
+
+    boolean existsByCategory_Id(Long categoryId);
+
+    /**
+     * Страница id событий пользователя по возрастанию id — из живой таблицы и архива вместе.
+     */
+    @Query(nativeQuery = true, value = """
+            select id from events where initiator_id = :userId
+            union all
+            select id from events_archive where initiator_id = :userId
+            order by id
+            offset :offset limit :limit
+            """)
+    List<Long> findInitiatorEventIds(@Param("userId") Long userId, @Param("offset") long offset,
+                                     @Param("limit") int limit);
+
+    @Query(nativeQuery = true, value = """
+            select event_id, count(*) from requests_archive
+            where event_id in :eventIds and status = 'CONFIRMED'
+            group by event_id
+            """)
+    List<Object[]> countConfirmedByEventIds(@Param("eventIds") Collection<Long> eventIds);
+
+    /**
+     * Переносит пачку событий старше cutoff вместе с заявками и комментариями в архив одним выражением.
+     * События из подборок остаются в events: на них ссылается compilation_events.
+     * Внешние ключи проверяются в конце выражения, поэтому порядок CTE не важен.
+     */
+    @Query(nativeQuery = true, value = """
+            with batch as (
+                select e.id from events e
+                where e.event_date < :cutoff
+                  and not exists (select 1 from compilation_events ce where ce.event_id = e.id)
+                order by e.event_date
+                limit :batch
+                for update skip locked
+            ), moved_requests as (
+                delete from requests where event_id in (select id from batch) returning *
+            ), archived_requests as (
+                insert into requests_archive select * from moved_requests
+            ), moved_comments as (
+                delete from comments where event_id in (select id from batch) returning *
+            ), archived_comments as (
+                insert into comments_archive select * from moved_comments
+            ), moved_events as (
+                delete from events where id in (select id from batch) returning *
+            ), archived_events as (
+                insert into events_archive select * from moved_events
+            )
+            select id from moved_events
+            """)
+    List<Long> moveOlderThan(@Param("cutoff") LocalDateTime cutoff, @Param("batch") int batch);
+}
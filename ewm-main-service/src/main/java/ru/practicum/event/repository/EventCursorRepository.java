@@ -0,0 +1,51 @@
+package ru.practicum.event.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Чтение событий (Event или ArchivedEvent) серверным курсором по id: строки приходят порциями по fetchSize,
+ * а контекст персистентности очищается каждые fetchSize строк, поэтому память не растёт с размером выборки.
+ * Поток нужно закрыть и читать внутри транзакции — без неё драйвер PostgreSQL не держит курсор.
+ */
+@Repository
+public class EventCursorRepository {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    public <T> Stream<T> stream(Class<T> type, Specification<T> spec, int fetchSize) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<T> cq = cb.createQuery(type);
+        Root<T> root = cq.from(type);
+        root.fetch("category");
+        root.fetch("initiator");
+        cq.select(root);
+        Predicate where = spec == null ? null : spec.toPredicate(root, cq, cb);
+        if (where != null) {
+            cq.where(where);
+        }
+        cq.orderBy(cb.asc(root.get("id")));
+        AtomicLong read = new AtomicLong();
+        return em.createQuery(cq)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                // связи уже подгружены join fetch, так что отсоединённые строки остаются пригодными для маппинга
+                .peek(row -> {
+                    if (read.incrementAndGet() % fetchSize == 0) {
+                        em.clear();
+                    }
+                });
+    }
+}
@@ -1,28 +1,28 @@
 package ru.practicum.event.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.event.model.Event;
+import ru.practicum.event.model.EventStamp;
 import ru.practicum.event.model.EventState;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event> {
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event>,
+        EventStampRepository {
 
     @EntityGraph(attributePaths = {"category", "initiator"})
     List<Event> findAllByIdIn(Collection<Long> ids);
 
-    @EntityGraph(attributePaths = {"category", "initiator"})
-    List<Event> findAllByInitiator_Id(Long initiatorId);
-
-    @EntityGraph(attributePaths = {"category", "initiator"})
-    List<Event> findAllByInitiator_IdOrderByIdAsc(Long initiatorId);
-
     boolean existsByCategory_Id(Long categoryId);
 
     long countByIdInAndState(List<Long> ids, EventState state);
@@ -34,4 +34,88 @@ public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecific
     List<Event> findAllByState(EventState state);
 
     long countByCategory_Id(Long categoryId);
+
+    @Query("select e.publishedOn from Event e where e.id = :id and e.publishedOn is not null")
+    Optional<LocalDateTime> findPublishedOnById(@Param("id") Long id);
+
+    /**
+     * Опубликованные начиная с from, кроме seen, в порядке публикации — возобновление ленты по Last-Event-ID.
+     */
+    @EntityGraph(attributePaths = {"category", "initiator"})
+    @Query("""
+            select e from Event e
+            where e.state = ru.practicum.event.model.EventState.PUBLISHED
+              and e.publishedOn >= :from
+              and e.id not in :seen
+            order by e.publishedOn, e.id
+            """)
+    List<Event> findPublishedSince(@Param("from") LocalDateTime from, @Param("seen") Collection<Long> seen,
+                                   Pageable pageable);
+
+    @Query("select e.id from Event e where e.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Публикует ожидающие модерации события из списка одним выражением; возвращает id опубликованных.
+     */
+    @Query(nativeQuery = true, value = """
+            update events
+            set state = 'PUBLISHED', published_on = :now, publish_on = null, updated_on = :now, version = version + 1
+            where id in :ids and state = 'PENDING'
+            returning id
+            """)
+    List<Long> publishPending(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Отклоняет неопубликованные события из списка одним выражением; возвращает id отклонённых.
+     */
+    @Query(nativeQuery = true, value = """
+            update events
+            set state = 'CANCELED', publish_on = null, updated_on = :now, version = version + 1
+            where id in :ids and state not in ('PUBLISHED', 'ARCHIVED')
+            returning id
+            """)
+    List<Long> rejectUnpublished(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Публикует пачку событий, чьё время публикации наступило; строки, занятые другой транзакцией, пропускаются.
+     */
+    @Query(nativeQuery = true, value = """
+            update events
+            set state = 'PUBLISHED', published_on = :now, publish_on = null, updated_on = :now, version = version + 1
+            where id in (select id from events
+                         where state = 'PENDING' and publish_on <= :now and event_date > :now
+                         order by publish_on
+                         limit :batch
+                         for update skip locked)
+            returning id
+            """)
+    List<Long> publishScheduled(@Param("now") LocalDateTime now, @Param("batch") int batch);
+
+    @Query(nativeQuery = true, value = """
+            update events
+            set state = 'ARCHIVED', updated_on = :now, version = version + 1
+            where id in (select id from events
+                         where state = 'PUBLISHED' and event_date < :cutoff
+                         order by event_date
+                         limit :batch
+                         for update skip locked)
+            returning id
+            """)
+    List<Long> archivePublishedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("now") LocalDateTime now,
+                                      @Param("batch") int batch);
+
+    /**
+     * Атомарно сдвигает счётчик одобренных комментариев; version не меняется, чтобы не конфликтовать с правками события.
+     */
+    @Query(nativeQuery = true, value = """
+            update events set comment_count = comment_count + :delta
+            where id = :id
+            returning comment_count
+            """)
+    Long addCommentCount(@Param("id") Long id, @Param("delta") int delta);
+
+    @Query("select new ru.practicum.event.model.EventStamp(e.id, e.version, e.state, e.updatedOn, e.commentCount) " +
+           "from Event e where e.id = :id")
+    Optional<EventStamp> findStampById(Long id);
 }
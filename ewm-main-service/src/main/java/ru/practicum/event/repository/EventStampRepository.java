@@ -0,0 +1,12 @@
+package ru.practicum.event.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.event.model.Event;
+import ru.practicum.event.model.EventStamp;
+
+import java.util.List;
+
+public interface EventStampRepository {
+    List<EventStamp> findStamps(Specification<Event> spec, Pageable pageable);
+}
@@ -0,0 +1,40 @@
+package ru.practicum.event.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import ru.practicum.event.model.Event;
+import ru.practicum.event.model.EventStamp;
+
+import java.util.List;
+
+public class EventStampRepositoryImpl implements EventStampRepository {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public List<EventStamp> findStamps(Specification<Event> spec, Pageable pageable) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<EventStamp> cq = cb.createQuery(EventStamp.class);
+        Root<Event> root = cq.from(Event.class);
+        cq.select(cb.construct(EventStamp.class,
+                root.get("id"), root.get("version"), root.get("state"), root.get("updatedOn"),
+                root.get("commentCount")));
+        if (spec != null) {
+            cq.where(spec.toPredicate(root, cq, cb));
+        }
+        if (pageable.getSort().isSorted()) {
+            cq.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+        return em.createQuery(cq)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.event.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import ru.practicum.config.HttpCacheProperties;
+import ru.practicum.event.model.EventStamp;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Строит валидаторы ETag/Last-Modified для публичных ответов по событиям.
+ * Содержимое события отслеживается через колонку version, счётчик комментариев — напрямую
+ * (он не увеличивает version), а счётчики просмотров и подтверждённых заявок — через временной бакет
+ * {@code ewm.http.counters-bucket}.
+ */
+@Component
+public class EventFreshnessResolver {
+
+    private final long bucketMillis;
+
+    public EventFreshnessResolver(HttpCacheProperties props) {
+        this.bucketMillis = Math.max(1, props.getCountersBucket().toMillis());
+    }
+
+    public EventFreshness ofEvent(EventStamp stamp, long confirmed) {
+        long bucket = currentBucket();
+        String etag = "W/\"" + stamp.id() + "-" + stamp.version() + "-" + stamp.commentCount() + "-" + confirmed + "-" + bucket + "\"";
+        return new EventFreshness(etag, Math.max(toMillis(stamp.updatedOn()), bucket * bucketMillis));
+    }
+
+    public EventFreshness ofPage(List<EventStamp> stamps) {
+        long bucket = currentBucket();
+        long lastModified = bucket * bucketMillis;
+        StringBuilder sb = new StringBuilder();
+        for (EventStamp s : stamps) {
+            sb.append(s.id()).append(':').append(s.version()).append(':').append(s.commentCount()).append(',');
+            lastModified = Math.max(lastModified, toMillis(s.updatedOn()));
+        }
+        sb.append(bucket);
+        String hash = DigestUtils.md5DigestAsHex(sb.toString().getBytes(StandardCharsets.UTF_8));
+        return new EventFreshness("W/\"" + hash + "\"", lastModified);
+    }
+
+    private long currentBucket() {
+        return System.currentTimeMillis() / bucketMillis;
+    }
+
+    private static long toMillis(LocalDateTime ldt) {
+        return ldt == null ? 0L : ldt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
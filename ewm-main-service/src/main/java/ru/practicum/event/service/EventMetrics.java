@@ -0,0 +1,39 @@
+package ru.practicum.event.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.servicecommon.metrics.EndpointTags;
+
+import java.util.function.Supplier;
+
+/**
+ * Отдельные таймеры этапов выдачи событий: запрос страницы в БД, подсчёт подтверждённых заявок, просмотры из stats.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventMetrics {
+
+    private final MeterRegistry registry;
+
+    public <T> T pageQuery(String query, Supplier<T> action) {
+        return time("ewm.events.page.query", Tags.of("query", query), action);
+    }
+
+    public <T> T countConfirmed(Supplier<T> action) {
+        return time("ewm.events.confirmed.count", Tags.empty(), action);
+    }
+
+    public <T> T fetchViews(Supplier<T> action) {
+        return time("ewm.events.views.fetch", Tags.empty(), action);
+    }
+
+    private <T> T time(String name, Tags tags, Supplier<T> action) {
+        return Timer.builder(name)
+                .tags(tags.and(EndpointTags.current()))
+                .register(registry)
+                .record(action);
+    }
+}
@@ -1,22 +1,38 @@
 package ru.practicum.event.service;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.category.model.Category;
 import ru.practicum.category.repository.CategoryRepository;
+import ru.practicum.common.cache.EventChangedEvent;
+import ru.practicum.common.cache.EventsChangedEvent;
 import ru.practicum.common.errors.ConflictException;
 import ru.practicum.common.errors.ForbiddenOperationException;
 import ru.practicum.common.errors.NotFoundException;
+import ru.practicum.common.geo.GeoFunctionContributor;
+import ru.practicum.common.util.PageRequestUtil;
+import ru.practicum.config.SchedulerProperties;
 import ru.practicum.event.dto.*;
+import ru.practicum.event.feed.EventsPublishedEvent;
 import ru.practicum.event.mapper.EventMapper;
+import ru.practicum.event.model.ArchivedEvent;
 import ru.practicum.event.model.Event;
+import ru.practicum.event.model.EventStamp;
 import ru.practicum.event.model.EventState;
+import ru.practicum.event.repository.ArchivedEventRepository;
+import ru.practicum.event.repository.EventCursorRepository;
 import ru.practicum.event.repository.EventRepository;
 import ru.practicum.request.model.RequestStatus;
 import ru.practicum.request.repository.ParticipationRequestRepository;
@@ -29,19 +45,34 @@ import ru.practicum.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
+@Timed("ewm.service")
 @RequiredArgsConstructor
 public class EventService {
+    /**
+     * Сколько событий уходит в один запрос просмотров (их uri передаются в URL запроса к stats);
+     * порциями того же размера читается и обогащается выгрузка.
+     */
+    static final int STATS_BATCH = 200;
 
     private final EventRepository eventRepository;
+    private final ArchivedEventRepository archivedEventRepository;
+    private final EventCursorRepository eventCursorRepository;
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
     private final ParticipationRequestRepository requestRepository;
     private final EventMapper mapper;
     private final StatsClient statsClient;
+    private final ApplicationEventPublisher publisher;
+    private final EventFreshnessResolver freshness;
+    private final EventMetrics metrics;
+    private final SchedulerProperties schedulerProperties;
 
     @Transactional
     public EventFullDto create(Long userId, NewEventDto dto) {
@@ -75,28 +106,52 @@ public class EventService {
     @Transactional(readOnly = true)
     public List<EventShortDto> getUserEvents(Long userId, int from, int size) {
         ensureUserExists(userId);
-        List<Event> list = eventRepository.findAllByInitiator_Id(userId);
-        List<Long> ids = list.stream().map(Event::getId).toList();
-        Map<Long, Long> confirmed = countConfirmed(ids);
+        // страница id строится по events и events_archive вместе; архивная часть дочитывается, только если попала в неё.
+        // from — ровно число пропускаемых строк, а не номер страницы
+        List<Long> ids = metrics.pageQuery("user", () -> archivedEventRepository.findInitiatorEventIds(
+                userId, from, size));
+        EventPage page = loadPage(ids);
         Map<Long, Long> views = fetchViews(ids, null, null);
-        return list.stream()
-                .sorted(Comparator.comparing(Event::getId))
-                .skip(from)
-                .limit(size)
-                .map(e -> mapper.toShortDto(e, views.getOrDefault(e.getId(), 0L), confirmed.getOrDefault(e.getId(), 0L)))
+        return page.events().stream()
+                .map(e -> mapper.toShortDto(e, views.getOrDefault(e.getId(), 0L),
+                        page.confirmed().getOrDefault(e.getId(), 0L)))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Короткие DTO для уже загруженных событий (category и initiator должны быть подгружены вместе с ними):
+     * подтверждённые заявки считаются одним запросом, просмотры — одним обращением к stats.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, EventShortDto> toShortDtos(Collection<Event> events) {
+        if (events.isEmpty()) return Map.of();
+        List<Long> ids = events.stream().map(Event::getId).distinct().toList();
+        Map<Long, Long> confirmed = countConfirmed(ids);
+        Map<Long, Long> views = fetchViews(ids, null, null);
+        Map<Long, EventShortDto> result = new HashMap<>();
+        for (Event e : events) {
+            result.computeIfAbsent(e.getId(), id -> mapper.toShortDto(e,
+                    views.getOrDefault(id, 0L), confirmed.getOrDefault(id, 0L)));
+        }
+        return result;
+    }
+
     @Transactional(readOnly = true)
     public EventFullDto getUserEvent(Long userId, Long eventId) {
         ensureUserExists(userId);
-        Event e = eventRepository.findById(eventId)
-                .orElseThrow(() -> new NotFoundException("Event with id=" + eventId + " was not found"));
+        Event e = eventRepository.findById(eventId).orElse(null);
+        long confirmed;
+        if (e != null) {
+            confirmed = requestRepository.countByEvent_IdAndStatus(eventId, RequestStatus.CONFIRMED);
+        } else {
+            e = archivedEventRepository.findById(eventId).map(ArchivedEvent::toEvent)
+                    .orElseThrow(() -> new NotFoundException("Event with id=" + eventId + " was not found"));
+            confirmed = countArchivedConfirmed(List.of(eventId)).getOrDefault(eventId, 0L);
+        }
         if (!e.getInitiator().getId().equals(userId)) {
             throw new ForbiddenOperationException("Only initiator can view own event details endpoint");
         }
         long views = fetchViews(Collections.singletonList(eventId), null, null).getOrDefault(eventId, 0L);
-        long confirmed = requestRepository.countByEvent_IdAndStatus(eventId, RequestStatus.CONFIRMED);
         return mapper.toFullDto(e, views, confirmed);
     }
 
@@ -108,7 +163,7 @@ public class EventService {
         if (!e.getInitiator().getId().equals(userId)) {
             throw new ForbiddenOperationException("Only initiator can edit own event.");
         }
-        if (e.getState() == EventState.PUBLISHED) {
+        if (e.getState().wasPublished()) {
             throw new ConflictException("Cannot edit published event");
         }
         if (body.getEventDate() != null && body.getEventDate().isBefore(LocalDateTime.now().plusHours(2))) {
@@ -116,6 +171,7 @@ public class EventService {
         }
         applyUserUpdate(e, body);
         Event saved = eventRepository.save(e);
+        publisher.publishEvent(new EventChangedEvent(eventId));
         long confirmed = requestRepository.countByEvent_IdAndStatus(eventId, RequestStatus.CONFIRMED);
         long views = fetchViews(Collections.singletonList(eventId), null, null).getOrDefault(eventId, 0L);
         return mapper.toFullDto(saved, views, confirmed);
@@ -128,48 +184,85 @@ public class EventService {
         if (rangeStart != null && rangeEnd != null && rangeStart.isAfter(rangeEnd)) {
             throw new IllegalArgumentException("rangeStart must be before rangeEnd");
         }
+        var pageable = PageRequestUtil.of(from, size, Sort.by("id").ascending());
+        Specification<Event> spec = adminSpec(users, states, categories, rangeStart, rangeEnd);
 
-        org.springframework.data.jpa.domain.Specification<Event> spec = org.springframework.data.jpa.domain.Specification.where(null);
-
-        if (users != null && !users.isEmpty()) {
-            spec = spec.and((root, q, cb) -> root.get("initiator").get("id").in(users));
-        }
-        if (states != null && !states.isEmpty()) {
-            List<EventState> es = states.stream().map(EventState::valueOf).toList();
-            spec = spec.and((root, q, cb) -> root.get("state").in(es));
-        }
-        if (categories != null && !categories.isEmpty()) {
-            spec = spec.and((root, q, cb) -> root.get("category").get("id").in(categories));
-        }
-        if (rangeStart != null) {
-            spec = spec.and((root, q, cb) -> cb.greaterThanOrEqualTo(root.get("eventDate"), rangeStart));
-        }
-        if (rangeEnd != null) {
-            spec = spec.and((root, q, cb) -> cb.lessThanOrEqualTo(root.get("eventDate"), rangeEnd));
+        // в архиве только события старше move-to-archive-after: если диапазон начинается позже, туда не ходим
+        LocalDateTime archivedBefore = LocalDateTime.now().minus(schedulerProperties.getMoveToArchiveAfter());
+        if (rangeStart != null && !rangeStart.isBefore(archivedBefore)) {
+            List<Event> page = metrics.pageQuery("admin", () -> eventRepository.findAll(spec, pageable)).getContent();
+            List<Long> ids = page.stream().map(Event::getId).toList();
+            return toFullDtos(page, countConfirmed(ids));
         }
 
-        int page = from / size;
-        var sort = org.springframework.data.domain.Sort.by("id").ascending();
-        var pageable = org.springframework.data.domain.PageRequest.of(page, size, sort);
+        // живые и архивные события пагинируются вместе по id в базе, дочитывается только сама страница
+        List<EventState> es = states == null ? null : states.stream().map(EventState::valueOf).toList();
+        List<Long> ids = metrics.pageQuery("admin", () -> archivedEventRepository.findAdminEventIds(
+                users, es, categories, rangeStart, rangeEnd, pageable.getOffset(), pageable.getPageSize()));
+        EventPage page = loadPage(ids);
+        return toFullDtos(page.events(), page.confirmed());
+    }
 
-        var pageResult = eventRepository.findAll(spec, pageable);
+    /**
+     * События страницы id в её порядке с подтверждёнными заявками: живые одним запросом,
+     * архивные вторым — только если попали на страницу.
+     */
+    private EventPage loadPage(List<Long> ids) {
+        if (ids.isEmpty()) return new EventPage(List.of(), Map.of());
+        Map<Long, Event> byId = new HashMap<>();
+        eventRepository.findAllByIdIn(ids).forEach(e -> byId.put(e.getId(), e));
+        List<Long> archivedIds = ids.stream().filter(id -> !byId.containsKey(id)).toList();
+        Map<Long, Long> confirmed = countConfirmed(ids.stream().filter(byId::containsKey).toList());
+        if (!archivedIds.isEmpty()) {
+            archivedEventRepository.findAllByIdIn(archivedIds).forEach(a -> byId.put(a.getId(), a.toEvent()));
+            confirmed.putAll(countArchivedConfirmed(archivedIds));
+        }
+        return new EventPage(ids.stream().map(byId::get).filter(Objects::nonNull).toList(), confirmed);
+    }
 
-        List<Long> ids = pageResult.getContent().stream().map(Event::getId).toList();
-        Map<Long, Long> confirmed = countConfirmed(ids);
-        Map<Long, Long> views = fetchViews(ids, null, null);
+    private record EventPage(List<Event> events, Map<Long, Long> confirmed) {
+    }
 
-        return pageResult.getContent().stream()
-                .map(e -> mapper.toFullDto(
-                        e,
-                        views.getOrDefault(e.getId(), 0L),
-                        confirmed.getOrDefault(e.getId(), 0L)))
-                .collect(java.util.stream.Collectors.toList());
+    /**
+     * Все события под фильтрами админского поиска, включая архив, порциями по STATS_BATCH в порядке id
+     * (сначала живые, затем архивные); каждая порция обогащается просмотрами и заявками и сразу отдаётся в sink.
+     * Оба курсора читают один снимок (REPEATABLE READ): перенос в архив между ними не задвоит строки.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void adminExport(List<Long> users, List<String> states, List<Long> categories,
+                            LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                            Consumer<List<EventFullDto>> sink) {
+        if (rangeStart != null && rangeEnd != null && rangeStart.isAfter(rangeEnd)) {
+            throw new IllegalArgumentException("rangeStart must be before rangeEnd");
+        }
+        Specification<Event> spec = adminSpec(users, states, categories, rangeStart, rangeEnd);
+        exportChunks(eventCursorRepository.stream(Event.class, spec, STATS_BATCH),
+                Function.identity(), this::countConfirmed, sink);
+        LocalDateTime archivedBefore = LocalDateTime.now().minus(schedulerProperties.getMoveToArchiveAfter());
+        if (rangeStart == null || rangeStart.isBefore(archivedBefore)) {
+            Specification<ArchivedEvent> archivedSpec = adminSpec(users, states, categories, rangeStart, rangeEnd);
+            exportChunks(eventCursorRepository.stream(ArchivedEvent.class, archivedSpec, STATS_BATCH),
+                    ArchivedEvent::toEvent, this::countArchivedConfirmed, sink);
+        }
     }
 
     @Transactional
     public EventFullDto adminUpdate(Long eventId, UpdateEventAdminRequest body) {
         Event e = eventRepository.findById(eventId)
                 .orElseThrow(() -> new NotFoundException("Event with id=" + eventId + " was not found"));
+        if (body.getPublishOn() != null) {
+            if (body.getStateAction() != null) {
+                throw new IllegalArgumentException("publishOn cannot be combined with stateAction");
+            }
+            if (e.getState() != EventState.PENDING) {
+                throw new ConflictException("Only pending event may be scheduled for publication");
+            }
+            LocalDateTime eventDate = body.getEventDate() != null ? body.getEventDate() : e.getEventDate();
+            if (!body.getPublishOn().isBefore(eventDate)) {
+                throw new IllegalArgumentException("publishOn must be before the event date");
+            }
+            e.setPublishOn(body.getPublishOn());
+        }
         if (body.getStateAction() != null) {
             switch (body.getStateAction()) {
                 case PUBLISH_EVENT -> {
@@ -180,74 +273,86 @@ public class EventService {
                     e.setPublishedOn(LocalDateTime.now());
                 }
                 case REJECT_EVENT -> {
-                    if (e.getState() == EventState.PUBLISHED) {
+                    if (e.getState().wasPublished()) {
                         throw new ConflictException("Cannot reject published event");
                     }
                     e.setState(EventState.CANCELED);
                 }
             }
+            // расписание относится к одной модерации: после решения или повторной отправки его назначают заново
+            e.setPublishOn(null);
         }
         if (body.getEventDate() != null && body.getEventDate().isBefore(LocalDateTime.now().plusHours(2))) {
             throw new IllegalArgumentException("Event date must be at least 2 hours in the future");
         }
         applyAdminUpdate(e, body);
         Event saved = eventRepository.save(e);
+        publisher.publishEvent(new EventChangedEvent(eventId));
+        if (body.getStateAction() == UpdateEventAdminRequest.AdminStateAction.PUBLISH_EVENT) {
+            publisher.publishEvent(new EventsPublishedEvent(List.of(eventId)));
+        }
         long confirmed = requestRepository.countByEvent_IdAndStatus(eventId, RequestStatus.CONFIRMED);
         long views = fetchViews(Collections.singletonList(eventId), null, null).getOrDefault(eventId, 0L);
         return mapper.toFullDto(saved, views, confirmed);
     }
 
-    @Transactional(readOnly = true)
-    public List<EventShortDto> publicSearch(String text, List<Long> categories, Boolean paid,
-                                            LocalDateTime rangeStart, LocalDateTime rangeEnd,
-                                            Boolean onlyAvailable, String sort, int from, int size,
-                                            HttpServletRequest request) {
-        logHit(request);
-
-        LocalDateTime start = rangeStart;
-        LocalDateTime end = rangeEnd;
-        if (start != null && end != null && start.isAfter(end)) {
-            throw new IllegalArgumentException("rangeStart must be before rangeEnd");
-        }
-        if (start == null && end == null) {
-            start = LocalDateTime.now();
-            end = LocalDateTime.now().plusYears(100);
-        } else {
-            if (start == null) start = LocalDateTime.now().minusYears(10);
-            if (end == null) end = LocalDateTime.now().plusYears(10);
+    @Transactional
+    public List<EventModerationResult> adminModerate(EventModerationRequest body) {
+        List<Long> ids = body.getEventIds().stream().distinct().toList();
+        boolean publish = body.getStateAction() == UpdateEventAdminRequest.AdminStateAction.PUBLISH_EVENT;
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> changed = new HashSet<>(publish
+                ? eventRepository.publishPending(ids, now)
+                : eventRepository.rejectUnpublished(ids, now));
+        Set<Long> existing = changed.size() == ids.size()
+                ? changed
+                : new HashSet<>(eventRepository.findExistingIds(ids));
+
+        Map<Long, EventFullDto> dtos = new HashMap<>();
+        if (!changed.isEmpty()) {
+            List<Event> events = eventRepository.findAllByIdIn(changed);
+            List<Long> changedIds = events.stream().map(Event::getId).toList();
+            Map<Long, Long> confirmed = countConfirmed(changedIds);
+            Map<Long, Long> views = fetchViews(changedIds, null, null);
+            events.forEach(e -> dtos.put(e.getId(), mapper.toFullDto(e,
+                    views.getOrDefault(e.getId(), 0L), confirmed.getOrDefault(e.getId(), 0L))));
+            publisher.publishEvent(new EventsChangedEvent(changed));
+            if (publish) {
+                publisher.publishEvent(new EventsPublishedEvent(changed));
+            }
         }
 
-        Specification<Event> spec = Specification.where(
-                (root, q, cb) -> cb.equal(root.get("state"), EventState.PUBLISHED)
-        );
-
-        if (text != null && !text.isBlank()) {
-            String p = "%" + text.toLowerCase() + "%";
-            spec = spec.and((root, q, cb) -> cb.or(
-                    cb.like(cb.lower(root.get("annotation")), p),
-                    cb.like(cb.lower(root.get("description")), p)
-            ));
-        }
-        if (categories != null && !categories.isEmpty()) {
-            spec = spec.and((root, q, cb) -> root.get("category").get("id").in(categories));
-        }
-        if (paid != null) {
-            spec = spec.and((root, q, cb) -> cb.equal(root.get("paid"), paid));
-        }
-        final LocalDateTime fs = start;
-        final LocalDateTime fe = end;
-        spec = spec.and((root, q, cb) -> cb.between(root.get("eventDate"), fs, fe));
+        EventModerationResult.Outcome done = publish
+                ? EventModerationResult.Outcome.PUBLISHED
+                : EventModerationResult.Outcome.REJECTED;
+        String conflict = publish ? "Only pending event may be published" : "Cannot reject published event";
+        return ids.stream()
+                .map(id -> {
+                    if (changed.contains(id)) {
+                        return new EventModerationResult(id, done, null, dtos.get(id));
+                    }
+                    if (!existing.contains(id)) {
+                        return new EventModerationResult(id, EventModerationResult.Outcome.NOT_FOUND,
+                                "Event with id=" + id + " was not found", null);
+                    }
+                    return new EventModerationResult(id, EventModerationResult.Outcome.CONFLICT, conflict, null);
+                })
+                .toList();
+    }
 
-        int page = from / size;
-        Sort dbSort = Sort.by("eventDate").ascending();
-        var pageable = PageRequest.of(page, size, dbSort);
+    @Transactional(readOnly = true)
+    public List<EventShortDto> publicSearch(String text, List<Long> categories, Boolean paid,
+                                            LocalDateTime rangeStart, LocalDateTime rangeEnd, GeoFilter geo,
+                                            Boolean onlyAvailable, String sort, int from, int size) {
+        PublicQuery query = buildPublicQuery(text, categories, paid, rangeStart, rangeEnd, geo, sort);
+        var pageable = publicPageable(from, size, query.byDistance());
 
-        var pageData = eventRepository.findAll(spec, pageable);
+        var pageData = metrics.pageQuery("public", () -> eventRepository.findAll(query.spec(), pageable));
         List<Event> events = pageData.getContent();
 
         List<Long> ids = events.stream().map(Event::getId).toList();
         Map<Long, Long> confirmed = countConfirmed(ids);
-        Map<Long, Long> views = fetchViews(ids, start, end);
+        Map<Long, Long> views = fetchViews(ids, query.start(), query.end());
 
         if (Boolean.TRUE.equals(onlyAvailable)) {
             events = events.stream()
@@ -257,7 +362,10 @@ public class EventService {
         }
 
         Comparator<Event> comparator;
-        if ("VIEWS".equalsIgnoreCase(sort)) {
+        if (query.byDistance()) {
+            // порядок по расстоянию уже задан запросом
+            comparator = (a, b) -> 0;
+        } else if ("VIEWS".equalsIgnoreCase(sort)) {
             comparator = Comparator.comparing((Event e) -> views.getOrDefault(e.getId(), 0L))
                     .reversed()
                     .thenComparing(Event::getEventDate);
@@ -275,8 +383,25 @@ public class EventService {
     }
 
     @Transactional(readOnly = true)
-    public EventFullDto publicGetById(Long id, HttpServletRequest request) {
-        logHit(request);
+    public EventFreshness publicSearchFreshness(String text, List<Long> categories, Boolean paid,
+                                                LocalDateTime rangeStart, LocalDateTime rangeEnd, GeoFilter geo,
+                                                String sort, int from, int size) {
+        PublicQuery query = buildPublicQuery(text, categories, paid, rangeStart, rangeEnd, geo, sort);
+        List<EventStamp> stamps = eventRepository.findStamps(query.spec(), publicPageable(from, size, query.byDistance()));
+        return freshness.ofPage(stamps);
+    }
+
+    @Transactional(readOnly = true)
+    public EventFreshness publicFreshness(Long id) {
+        EventStamp stamp = eventRepository.findStampById(id)
+                .filter(s -> s.state() == EventState.PUBLISHED)
+                .orElseThrow(() -> new NotFoundException("Event with id=" + id + " was not found"));
+        long confirmed = requestRepository.countByEvent_IdAndStatus(id, RequestStatus.CONFIRMED);
+        return freshness.ofEvent(stamp, confirmed);
+    }
+
+    @Transactional(readOnly = true)
+    public EventFullDto publicGetById(Long id) {
         Event e = eventRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Event with id=" + id + " was not found"));
         if (e.getState() != EventState.PUBLISHED) {
@@ -310,6 +435,7 @@ public class EventService {
                 case SEND_TO_REVIEW -> e.setState(EventState.PENDING);
                 case CANCEL_REVIEW -> e.setState(EventState.CANCELED);
             }
+            e.setPublishOn(null);
         }
     }
 
@@ -339,22 +465,89 @@ public class EventService {
     }
 
     private Map<Long, Long> countConfirmed(List<Long> ids) {
-        Map<Long, Long> map = new HashMap<>();
-        for (Long id : ids) {
-            long cnt = requestRepository.countByEvent_IdAndStatus(id, RequestStatus.CONFIRMED);
-            map.put(id, cnt);
+        if (ids.isEmpty()) return new HashMap<>();
+        return metrics.countConfirmed(() -> {
+            Map<Long, Long> map = new HashMap<>();
+            for (Object[] row : requestRepository.countByEventIdsAndStatus(ids, RequestStatus.CONFIRMED)) {
+                map.put((Long) row[0], (Long) row[1]);
+            }
+            return map;
+        });
+    }
+
+    private Map<Long, Long> countArchivedConfirmed(List<Long> ids) {
+        return metrics.countConfirmed(() -> {
+            Map<Long, Long> map = new HashMap<>();
+            for (Object[] row : archivedEventRepository.countConfirmedByEventIds(ids)) {
+                map.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+            }
+            return map;
+        });
+    }
+
+    private <T> void exportChunks(Stream<T> rows, Function<T, Event> toEvent,
+                                  Function<List<Long>, Map<Long, Long>> confirmedCounter,
+                                  Consumer<List<EventFullDto>> sink) {
+        try (rows) {
+            List<Event> chunk = new ArrayList<>(STATS_BATCH);
+            Iterator<T> it = rows.iterator();
+            while (it.hasNext()) {
+                chunk.add(toEvent.apply(it.next()));
+                if (chunk.size() == STATS_BATCH || !it.hasNext()) {
+                    sink.accept(toFullDtos(chunk, confirmedCounter.apply(chunk.stream().map(Event::getId).toList())));
+                    chunk.clear();
+                }
+            }
         }
-        return map;
+    }
+
+    private List<EventFullDto> toFullDtos(List<Event> events, Map<Long, Long> confirmed) {
+        Map<Long, Long> views = fetchViews(events.stream().map(Event::getId).toList(), null, null);
+        return events.stream()
+                .map(e -> mapper.toFullDto(e, views.getOrDefault(e.getId(), 0L), confirmed.getOrDefault(e.getId(), 0L)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Фильтры админского поиска; поля Event и ArchivedEvent совпадают, поэтому одна спецификация на обе таблицы.
+     */
+    private static <T> Specification<T> adminSpec(List<Long> users, List<String> states, List<Long> categories,
+                                                  LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        Specification<T> spec = Specification.where(null);
+        if (users != null && !users.isEmpty()) {
+            spec = spec.and((root, q, cb) -> root.get("initiator").get("id").in(users));
+        }
+        if (states != null && !states.isEmpty()) {
+            List<EventState> es = states.stream().map(EventState::valueOf).toList();
+            spec = spec.and((root, q, cb) -> root.get("state").in(es));
+        }
+        if (categories != null && !categories.isEmpty()) {
+            spec = spec.and((root, q, cb) -> root.get("category").get("id").in(categories));
+        }
+        if (rangeStart != null) {
+            spec = spec.and((root, q, cb) -> cb.greaterThanOrEqualTo(root.get("eventDate"), rangeStart));
+        }
+        if (rangeEnd != null) {
+            spec = spec.and((root, q, cb) -> cb.lessThanOrEqualTo(root.get("eventDate"), rangeEnd));
+        }
+        return spec;
     }
 
     private Map<Long, Long> fetchViews(List<Long> ids, LocalDateTime start, LocalDateTime end) {
         if (ids == null || ids.isEmpty()) return Collections.emptyMap();
+        return metrics.fetchViews(() -> loadViews(ids, start, end));
+    }
+
+    private Map<Long, Long> loadViews(List<Long> ids, LocalDateTime start, LocalDateTime end) {
         if (start == null) start = LocalDateTime.now().minusYears(10);
         if (end == null) end = LocalDateTime.now().plusYears(10);
         List<String> uris = ids.stream().map(id -> "/events/" + id).collect(Collectors.toList());
-        List<ViewStatsDto> stats;
+        List<ViewStatsDto> stats = new ArrayList<>();
         try {
-            stats = statsClient.getStats(start, end, uris, true);
+            for (int i = 0; i < uris.size(); i += STATS_BATCH) {
+                List<String> batch = uris.subList(i, Math.min(i + STATS_BATCH, uris.size()));
+                stats.addAll(statsClient.getStats(start, end, batch, true));
+            }
         } catch (RuntimeException ex) {
             log.debug("Failed to fetch stats: {}", ex.getMessage());
             stats = Collections.emptyList();
@@ -370,7 +563,95 @@ public class EventService {
         return result;
     }
 
-    private void logHit(HttpServletRequest request) {
+    private PublicQuery buildPublicQuery(String text, List<Long> categories, Boolean paid,
+                                         LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                                         GeoFilter geo, String sort) {
+        LocalDateTime start = rangeStart;
+        LocalDateTime end = rangeEnd;
+        if (start != null && end != null && start.isAfter(end)) {
+            throw new IllegalArgumentException("rangeStart must be before rangeEnd");
+        }
+        if (start == null && end == null) {
+            start = LocalDateTime.now();
+            end = LocalDateTime.now().plusYears(100);
+        } else {
+            if (start == null) start = LocalDateTime.now().minusYears(10);
+            if (end == null) end = LocalDateTime.now().plusYears(10);
+        }
+
+        // state литералом, а не параметром: иначе частичные индексы (where state = 'PUBLISHED') не годятся generic-плану
+        Specification<Event> spec = Specification.where(
+                (root, q, cb) -> cb.equal(root.get("state"), cb.literal(EventState.PUBLISHED))
+        );
+
+        if (text != null && !text.isBlank()) {
+            String p = "%" + text.toLowerCase() + "%";
+            spec = spec.and((root, q, cb) -> cb.or(
+                    cb.like(cb.lower(root.get("annotation")), p),
+                    cb.like(cb.lower(root.get("description")), p)
+            ));
+        }
+        if (categories != null && !categories.isEmpty()) {
+            spec = spec.and((root, q, cb) -> root.get("category").get("id").in(categories));
+        }
+        if (paid != null) {
+            spec = spec.and((root, q, cb) -> cb.equal(root.get("paid"), paid));
+        }
+        final LocalDateTime fs = start;
+        final LocalDateTime fe = end;
+        spec = spec.and((root, q, cb) -> cb.between(root.get("eventDate"), fs, fe));
+
+        geo.validate();
+        boolean byDistance = "DISTANCE".equalsIgnoreCase(sort);
+        if (byDistance && !geo.hasCenter()) {
+            throw new IllegalArgumentException("Sorting by DISTANCE requires lat and lon");
+        }
+        if (geo.hasRadius()) {
+            spec = spec.and((root, q, cb) -> cb.isTrue(cb.function(GeoFunctionContributor.WITHIN_RADIUS, Boolean.class,
+                    cb.literal(geo.lat()), cb.literal(geo.lon()),
+                    root.get("locationLat"), root.get("locationLon"),
+                    cb.literal(geo.radius() * 1000))));
+        }
+        if (geo.hasBox()) {
+            spec = spec.and((root, q, cb) -> {
+                if (geo.minLon() <= geo.maxLon()) {
+                    return withinBox(root, cb, geo.minLon(), geo.maxLon(), geo);
+                }
+                // прямоугольник через 180-й меридиан
+                return cb.or(withinBox(root, cb, geo.minLon(), 180.0, geo),
+                        withinBox(root, cb, -180.0, geo.maxLon(), geo));
+            });
+        }
+        if (byDistance) {
+            // сортировка задаётся здесь: Sort из Pageable не умеет выражения; count-запрос порядок сбрасывает
+            spec = spec.and((root, q, cb) -> {
+                q.orderBy(cb.asc(cb.function(GeoFunctionContributor.DISTANCE_METERS, Double.class,
+                                cb.literal(geo.lat()), cb.literal(geo.lon()),
+                                root.get("locationLat"), root.get("locationLon"))),
+                        cb.asc(root.get("id")));
+                return null;
+            });
+        }
+        return new PublicQuery(spec, start, end, byDistance);
+    }
+
+    private static Predicate withinBox(Root<Event> root, CriteriaBuilder cb, double minLon, double maxLon,
+                                       GeoFilter geo) {
+        return cb.isTrue(cb.function(GeoFunctionContributor.WITHIN_BOX, Boolean.class,
+                root.get("locationLon"), root.get("locationLat"),
+                cb.literal(minLon), cb.literal(geo.minLat()), cb.literal(maxLon), cb.literal(geo.maxLat())));
+    }
+
+    private static PageRequest publicPageable(int from, int size, boolean byDistance) {
+        Sort sort = byDistance ? Sort.unsorted() : Sort.by("eventDate").ascending();
+        return PageRequest.of(from / size, size, sort);
+    }
+
+    private record PublicQuery(Specification<Event> spec, LocalDateTime start, LocalDateTime end,
+                               boolean byDistance) {
+    }
+
+    public void logHit(HttpServletRequest request) {
         if (request == null) return;
         String ip = ClientIpResolver.resolve(request);
         String uri = request.getRequestURI();
@@ -0,0 +1,110 @@
+package ru.practicum.event.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.common.cache.EventsChangedEvent;
+import ru.practicum.common.lease.DbLease;
+import ru.practicum.config.SchedulerProperties;
+import ru.practicum.event.feed.EventsPublishedEvent;
+import ru.practicum.event.repository.ArchivedEventRepository;
+import ru.practicum.event.repository.EventRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Переходы состояний по времени: публикация в назначенный publishOn, архивирование прошедших событий
+ * и перенос давно прошедших в events_archive.
+ * Работает пачками по batch-size, каждая пачка — отдельная транзакция; запускается только на узле с арендой.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "ewm.scheduler", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class EventTransitionScheduler {
+    static final String LEASE = "event-transitions";
+
+    private final SchedulerProperties props;
+    private final DbLease lease;
+    private final EventRepository eventRepository;
+    private final ArchivedEventRepository archivedEventRepository;
+    private final TransactionTemplate tx;
+    private final ApplicationEventPublisher publisher;
+    private final Counter published;
+    private final Counter archived;
+    private final Counter moved;
+
+    public EventTransitionScheduler(SchedulerProperties props, DbLease lease, EventRepository eventRepository,
+                                    ArchivedEventRepository archivedEventRepository, TransactionTemplate tx, ApplicationEventPublisher publisher,
+                                    MeterRegistry registry) {
+        this.props = props;
+        this.lease = lease;
+        this.eventRepository = eventRepository;
+        this.archivedEventRepository = archivedEventRepository;
+        this.tx = tx;
+        this.publisher = publisher;
+        this.published = transitions(registry, "publish");
+        this.archived = transitions(registry, "archive");
+        this.moved = transitions(registry, "move");
+    }
+
+    @Scheduled(fixedDelayString = "${ewm.scheduler.interval:PT30S}", initialDelayString = "${ewm.scheduler.interval:PT30S}")
+    public void run() {
+        if (!lease.tryAcquire(LEASE, props.getLeaseTtl())) {
+            return;
+        }
+        int batch = props.getBatchSize();
+        int p = drain(published, () -> {
+            List<Long> ids = eventRepository.publishScheduled(LocalDateTime.now(), batch);
+            if (!ids.isEmpty()) {
+                publisher.publishEvent(new EventsPublishedEvent(ids));
+            }
+            return ids;
+        });
+        int a = drain(archived, () -> eventRepository.archivePublishedBefore(
+                LocalDateTime.now().minus(props.getArchiveAfter()), LocalDateTime.now(), batch));
+        int m = drain(moved, () -> archivedEventRepository.moveOlderThan(
+                LocalDateTime.now().minus(props.getMoveToArchiveAfter()), batch));
+        if (p > 0 || a > 0 || m > 0) {
+            log.info("Scheduled transitions: {} published, {} archived, {} moved to archive", p, a, m);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        lease.release(LEASE);
+    }
+
+    private int drain(Counter counter, Supplier<List<Long>> step) {
+        int total = 0;
+        while (true) {
+            List<Long> ids = tx.execute(status -> {
+                List<Long> changed = step.get();
+                if (!changed.isEmpty()) {
+                    publisher.publishEvent(new EventsChangedEvent(changed));
+                }
+                return changed;
+            });
+            counter.increment(ids.size());
+            total += ids.size();
+            // неполная пачка — очередь пуста; потерянная аренда — дальше работает другой узел
+            if (ids.size() < props.getBatchSize() || !lease.tryAcquire(LEASE, props.getLeaseTtl())) {
+                return total;
+            }
+        }
+    }
+
+    private static Counter transitions(MeterRegistry registry, String transition) {
+        return Counter.builder("ewm.scheduler.transitions")
+                .description("Events moved by the transition scheduler")
+                .tag("transition", transition)
+                .register(registry);
+    }
+}
@@ -3,6 +3,7 @@ package ru.practicum.request.mapper;
 import org.springframework.stereotype.Component;
 import ru.practicum.request.dto.ParticipationRequestDto;
 import ru.practicum.request.model.ParticipationRequest;
+import ru.practicum.request.model.ParticipationRequestRow;
 
 @Component
 public class ParticipationMapper {
@@ -17,4 +18,14 @@ public class ParticipationMapper {
                 .created(entity.getCreated())
                 .build();
     }
+
+    public ParticipationRequestDto toDto(ParticipationRequestRow row) {
+        return ParticipationRequestDto.builder()
+                .id(row.getId())
+                .event(row.getEventId())
+                .requester(row.getRequesterId())
+                .status(row.getStatus())
+                .created(row.getCreated())
+                .build();
+    }
 }
@@ -0,0 +1,18 @@
+package ru.practicum.request.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Строка заявки из {@code update ... returning}: набор колонок без загрузки сущности.
+ */
+public interface ParticipationRequestRow {
+    Long getId();
+
+    Long getEventId();
+
+    Long getRequesterId();
+
+    String getStatus();
+
+    LocalDateTime getCreated();
+}
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.request.model.ParticipationRequest;
+import ru.practicum.request.model.ParticipationRequestRow;
 import ru.practicum.request.model.RequestStatus;
 
 import java.util.Collection;
@@ -28,5 +29,39 @@ public interface ParticipationRequestRepository extends JpaRepository<Participat
 
     List<ParticipationRequest> findAllByEvent_Id(Long eventId);
 
-    List<ParticipationRequest> findAllByIdIn(Collection<Long> ids);
+    boolean existsByIdInAndEvent_IdAndStatusNot(Collection<Long> ids, Long eventId, RequestStatus status);
+
+    /**
+     * Подтверждает не больше {@code quota} ожидающих заявок из списка (по возрастанию id) одним выражением.
+     */
+    @Query(nativeQuery = true, value = """
+            update requests set status = 'CONFIRMED'
+            where id in (select r.id from requests r
+                         where r.id in :ids and r.event_id = :eventId and r.status = 'PENDING'
+                         order by r.id
+                         limit :quota
+                         for update)
+            returning id, event_id as "eventId", requester_id as "requesterId", status, created
+            """)
+    List<ParticipationRequestRow> confirmPending(@Param("eventId") Long eventId,
+                                                 @Param("ids") Collection<Long> ids,
+                                                 @Param("quota") int quota);
+
+    @Query(nativeQuery = true, value = """
+            update requests set status = 'REJECTED'
+            where id in :ids and event_id = :eventId and status = 'PENDING'
+            returning id, event_id as "eventId", requester_id as "requesterId", status, created
+            """)
+    List<ParticipationRequestRow> rejectPending(@Param("eventId") Long eventId,
+                                                @Param("ids") Collection<Long> ids);
+
+    /**
+     * Отклоняет все оставшиеся ожидающие заявки события, когда лимит участников заполнен.
+     */
+    @Query(nativeQuery = true, value = """
+            update requests set status = 'REJECTED'
+            where event_id = :eventId and status = 'PENDING'
+            returning id, event_id as "eventId", requester_id as "requesterId", status, created
+            """)
+    List<ParticipationRequestRow> rejectAllPending(@Param("eventId") Long eventId);
 }
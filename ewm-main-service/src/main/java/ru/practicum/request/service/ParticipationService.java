@@ -1,5 +1,6 @@
 package ru.practicum.request.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,6 +15,7 @@ import ru.practicum.request.dto.EventRequestStatusUpdateResult;
 import ru.practicum.request.dto.ParticipationRequestDto;
 import ru.practicum.request.mapper.ParticipationMapper;
 import ru.practicum.request.model.ParticipationRequest;
+import ru.practicum.request.model.ParticipationRequestRow;
 import ru.practicum.request.model.RequestStatus;
 import ru.practicum.request.repository.ParticipationRequestRepository;
 import ru.practicum.user.model.User;
@@ -23,6 +25,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("ewm.service")
 @RequiredArgsConstructor
 public class ParticipationService {
 
@@ -108,66 +111,45 @@ public class ParticipationService {
             return new EventRequestStatusUpdateResult();
         }
 
-        List<ParticipationRequest> requests = requestRepository.findAllByIdIn(body.getRequestIds());
-        requests = requests.stream()
-                .filter(r -> r.getEvent().getId().equals(eventId))
-                .collect(Collectors.toList());
-        if (requests.isEmpty()) {
+        List<Long> ids = body.getRequestIds() == null ? List.of() : body.getRequestIds();
+        if (ids.isEmpty()) {
             return new EventRequestStatusUpdateResult();
         }
-        if (requests.stream().anyMatch(r -> r.getStatus() != RequestStatus.PENDING)) {
+        if (requestRepository.existsByIdInAndEvent_IdAndStatusNot(ids, eventId, RequestStatus.PENDING)) {
             throw new ConflictException("Only pending requests can be changed");
         }
 
-        long confirmed = requestRepository.countByEvent_IdAndStatus(eventId, RequestStatus.CONFIRMED);
-        int limit = event.getParticipantLimit() == null ? 0 : event.getParticipantLimit();
-
-        if (limit > 0 && confirmed >= limit && body.getStatus() == EventRequestStatusUpdateRequest.UpdateAction.CONFIRMED) {
-            throw new ConflictException("The participant limit has been reached");
-        }
-
         EventRequestStatusUpdateResult result = new EventRequestStatusUpdateResult();
-
         if (body.getStatus() == EventRequestStatusUpdateRequest.UpdateAction.REJECTED) {
-            for (ParticipationRequest r : requests) {
-                if (r.getStatus() == RequestStatus.PENDING) {
-                    r.setStatus(RequestStatus.REJECTED);
-                    result.getRejectedRequests().add(mapper.toDto(r));
-                }
-            }
-            requestRepository.saveAll(requests);
+            addRows(result.getRejectedRequests(), requestRepository.rejectPending(eventId, ids));
             return result;
         }
 
-        for (ParticipationRequest r : requests) {
-            if (r.getStatus() != RequestStatus.PENDING) continue;
-            if (limit > 0 && confirmed >= limit) {
-                r.setStatus(RequestStatus.REJECTED);
-                result.getRejectedRequests().add(mapper.toDto(r));
-            } else {
-                r.setStatus(RequestStatus.CONFIRMED);
-                confirmed++;
-                result.getConfirmedRequests().add(mapper.toDto(r));
-            }
-        }
-        requestRepository.saveAll(requests);
-
+        long confirmed = requestRepository.countByEvent_IdAndStatus(eventId, RequestStatus.CONFIRMED);
+        int limit = event.getParticipantLimit() == null ? 0 : event.getParticipantLimit();
         if (limit > 0 && confirmed >= limit) {
-            List<ParticipationRequest> pending = requestRepository.findAllByEvent_Id(eventId)
-                    .stream().filter(r -> r.getStatus() == RequestStatus.PENDING)
-                    .collect(Collectors.toList());
-            if (!pending.isEmpty()) {
-                for (ParticipationRequest r : pending) {
-                    r.setStatus(RequestStatus.REJECTED);
-                    result.getRejectedRequests().add(mapper.toDto(r));
-                }
-                requestRepository.saveAll(pending);
-            }
+            throw new ConflictException("The participant limit has been reached");
         }
 
+        int quota = limit > 0 ? (int) (limit - confirmed) : Integer.MAX_VALUE;
+        List<ParticipationRequestRow> confirmedRows = requestRepository.confirmPending(eventId, ids, quota);
+        addRows(result.getConfirmedRequests(), confirmedRows);
+        // заявки из списка сверх лимита
+        addRows(result.getRejectedRequests(), requestRepository.rejectPending(eventId, ids));
+
+        if (limit > 0 && confirmed + confirmedRows.size() >= limit) {
+            addRows(result.getRejectedRequests(), requestRepository.rejectAllPending(eventId));
+        }
         return result;
     }
 
+    private void addRows(List<ParticipationRequestDto> target, List<ParticipationRequestRow> rows) {
+        rows.stream()
+                .sorted(Comparator.comparing(ParticipationRequestRow::getId))
+                .map(mapper::toDto)
+                .forEach(target::add);
+    }
+
     private void ensureUserExists(Long userId) {
         if (!userRepository.existsById(userId)) {
             throw new NotFoundException("User with id=" + userId + " was not found");
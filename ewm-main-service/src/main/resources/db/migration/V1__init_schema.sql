@@ -0,0 +1,81 @@
+-- Схема в том виде, в каком её создавал ddl-auto: update; существующие базы помечаются этой версией через baseline.
+
+create table users (
+    id    bigint generated by default as identity primary key,
+    name  varchar(250) not null,
+    email varchar(254) not null,
+    constraint uq_user_email unique (email)
+);
+
+create table categories (
+    id   bigint generated by default as identity primary key,
+    name varchar(50) not null,
+    constraint uq_category_name unique (name)
+);
+
+create table events (
+    id                 bigint generated by default as identity primary key,
+    annotation         varchar(2000) not null,
+    description        varchar(7000) not null,
+    title              varchar(120)  not null,
+    category_id        bigint        not null,
+    initiator_id       bigint        not null,
+    created_on         timestamp(6)  not null,
+    event_date         timestamp(6)  not null,
+    published_on       timestamp(6),
+    updated_on         timestamp(6),
+    location_lat       float(53),
+    location_lon       float(53),
+    paid               boolean       not null,
+    participant_limit  integer       not null,
+    request_moderation boolean       not null,
+    state              varchar(16)   not null check (state in ('PENDING', 'PUBLISHED', 'CANCELED')),
+    version            bigint        not null default 0,
+    constraint fk_events_category foreign key (category_id) references categories (id),
+    constraint fk_events_initiator foreign key (initiator_id) references users (id)
+);
+
+create table requests (
+    id           bigint generated by default as identity primary key,
+    created      timestamp(6) not null,
+    event_id     bigint       not null,
+    requester_id bigint       not null,
+    status       varchar(16)  not null check (status in ('PENDING', 'CONFIRMED', 'REJECTED', 'CANCELED')),
+    constraint uq_request unique (requester_id, event_id),
+    constraint fk_requests_event foreign key (event_id) references events (id),
+    constraint fk_requests_requester foreign key (requester_id) references users (id)
+);
+
+create index idx_req_event_status on requests (event_id, status);
+create index idx_req_requester on requests (requester_id);
+
+create table compilations (
+    id     bigint generated by default as identity primary key,
+    title  varchar(50) not null,
+    pinned boolean     not null,
+    constraint uq_compilation_name unique (title)
+);
+
+create table compilation_events (
+    compilation_id bigint not null,
+    event_id       bigint not null,
+    primary key (compilation_id, event_id),
+    constraint fk_compilation_events_compilation foreign key (compilation_id) references compilations (id),
+    constraint fk_compilation_events_event foreign key (event_id) references events (id)
+);
+
+create table comments (
+    id            bigint generated by default as identity primary key,
+    author_id     bigint        not null,
+    event_id      bigint        not null,
+    created_on    timestamp(6)  not null,
+    updated_on    timestamp(6),
+    status        varchar(16)   not null check (status in ('PENDING', 'APPROVED', 'REJECTED')),
+    reject_reason varchar(1000),
+    text          varchar(4000) not null,
+    constraint fk_comments_author foreign key (author_id) references users (id),
+    constraint fk_comments_event foreign key (event_id) references events (id)
+);
+
+create index idx_comment_event_status on comments (event_id, status);
+create index idx_comment_author on comments (author_id);
@@ -0,0 +1,27 @@
+-- Публичный и админский поиск: state = ... and event_date between ... order by event_date.
+create index idx_events_state_date on events (state, event_date);
+
+-- Публичный поиск с фильтром categories.
+create index idx_events_published_category_date on events (category_id, event_date) where state = 'PUBLISHED';
+
+-- Поиск по тексту: lower(annotation|description) like '%...%' только среди опубликованных.
+create extension if not exists pg_trgm;
+create index idx_events_published_annotation_trgm on events using gin (lower(annotation) gin_trgm_ops)
+    where state = 'PUBLISHED';
+create index idx_events_published_description_trgm on events using gin (lower(description) gin_trgm_ops)
+    where state = 'PUBLISHED';
+
+-- findAllByInitiator_Id (+ сортировка по id) и фильтр users в админском поиске.
+create index idx_events_initiator on events (initiator_id, id);
+
+-- existsByCategory_Id при удалении категории, фильтр categories в админском поиске.
+create index idx_events_category on events (category_id);
+
+-- Подборки, в которые входит событие (инвалидация кэша), — PK начинается с compilation_id.
+create index idx_compilation_events_event on compilation_events (event_id);
+
+create index idx_compilations_pinned on compilations (pinned, id);
+
+-- existsByNameIgnoreCase / existsByEmailIgnoreCase.
+create index idx_categories_name_lower on categories (lower(name));
+create index idx_users_email_lower on users (lower(email));
@@ -0,0 +1,26 @@
+-- Идентификаторы из последовательностей с шагом 50 (pooled-оптимизатор Hibernate) вместо identity:
+-- identity отключает JDBC-батчинг вставок. Старт выше текущего max(id), чтобы не пересечься с существующими строками.
+
+alter table users alter column id drop identity;
+create sequence users_seq increment by 50;
+select setval('users_seq', coalesce((select max(id) from users), 0) + 51, false);
+
+alter table categories alter column id drop identity;
+create sequence categories_seq increment by 50;
+select setval('categories_seq', coalesce((select max(id) from categories), 0) + 51, false);
+
+alter table events alter column id drop identity;
+create sequence events_seq increment by 50;
+select setval('events_seq', coalesce((select max(id) from events), 0) + 51, false);
+
+alter table requests alter column id drop identity;
+create sequence requests_seq increment by 50;
+select setval('requests_seq', coalesce((select max(id) from requests), 0) + 51, false);
+
+alter table compilations alter column id drop identity;
+create sequence compilations_seq increment by 50;
+select setval('compilations_seq', coalesce((select max(id) from compilations), 0) + 51, false);
+
+alter table comments alter column id drop identity;
+create sequence comments_seq increment by 50;
+select setval('comments_seq', coalesce((select max(id) from comments), 0) + 51, false);
@@ -0,0 +1,9 @@
+-- Поиск «рядом со мной»: earth_box(ll_to_earth(lat, lon), r) @> ll_to_earth(location_lat, location_lon).
+create extension if not exists cube;
+create extension if not exists earthdistance;
+create index idx_events_published_earth on events using gist (ll_to_earth(location_lat, location_lon))
+    where state = 'PUBLISHED';
+
+-- Поиск в прямоугольнике: point(location_lon, location_lat) <@ box(...).
+create index idx_events_published_point on events using gist (point(location_lon, location_lat))
+    where state = 'PUBLISHED';
@@ -0,0 +1,17 @@
+-- Отложенная публикация и архивирование прошедших событий планировщиком.
+alter table events add column publish_on timestamp(6);
+
+alter table events drop constraint if exists events_state_check;
+alter table events add constraint events_state_check
+    check (state in ('PENDING', 'PUBLISHED', 'CANCELED', 'ARCHIVED'));
+
+-- Очередь публикации: state = 'PENDING' and publish_on <= now() order by publish_on.
+create index idx_events_pending_publish_on on events (publish_on)
+    where state = 'PENDING' and publish_on is not null;
+
+-- Аренда, чтобы фоновую задачу выполнял только один экземпляр сервиса.
+create table scheduler_leases (
+    name         varchar(64)  primary key,
+    owner        varchar(128) not null,
+    locked_until timestamptz  not null
+);
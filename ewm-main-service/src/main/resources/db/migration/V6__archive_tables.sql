@@ -0,0 +1,23 @@
+-- Холодное хранилище прошедших событий: строки переносятся из events/requests/comments планировщиком.
+-- Архивные таблицы повторяют колонки (и их порядок) исходных: перенос идёт через insert ... select *,
+-- поэтому новая колонка в events/requests/comments добавляется и в соответствующую *_archive.
+create table events_archive (like events);
+alter table events_archive add primary key (id);
+alter table events_archive add constraint fk_events_archive_category foreign key (category_id) references categories (id);
+alter table events_archive add constraint fk_events_archive_initiator foreign key (initiator_id) references users (id);
+create index idx_events_archive_initiator on events_archive (initiator_id, id);
+create index idx_events_archive_category on events_archive (category_id);
+create index idx_events_archive_date on events_archive (event_date);
+
+create table requests_archive (like requests);
+alter table requests_archive add primary key (id);
+alter table requests_archive add constraint fk_requests_archive_event foreign key (event_id) references events_archive (id);
+create index idx_requests_archive_event_status on requests_archive (event_id, status);
+
+create table comments_archive (like comments);
+alter table comments_archive add primary key (id);
+alter table comments_archive add constraint fk_comments_archive_event foreign key (event_id) references events_archive (id);
+create index idx_comments_archive_event on comments_archive (event_id);
+
+-- Кандидаты на перенос: event_date < cutoff order by event_date.
+create index idx_events_date on events (event_date);
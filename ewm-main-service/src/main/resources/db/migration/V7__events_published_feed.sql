@@ -0,0 +1,3 @@
+-- Повтор ленты публикаций по Last-Event-ID: state = 'PUBLISHED' and published_on >= :from and id not in :seen
+-- order by published_on, id, где from — публикация курсора минус окно replay-lookback.
+create index idx_events_published_on on events (published_on, id) where state = 'PUBLISHED';
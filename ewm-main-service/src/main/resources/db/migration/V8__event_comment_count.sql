@@ -0,0 +1,12 @@
+-- Счётчик одобренных комментариев; ведёт CommentService в той же транзакции, что и сам комментарий.
+-- Колонка добавляется и в events_archive: перенос в архив идёт через insert ... select *.
+alter table events add column comment_count bigint not null default 0;
+alter table events_archive add column comment_count bigint not null default 0;
+
+update events e set comment_count = c.cnt
+from (select event_id, count(*) as cnt from comments where status = 'APPROVED' group by event_id) c
+where c.event_id = e.id;
+
+update events_archive e set comment_count = c.cnt
+from (select event_id, count(*) as cnt from comments_archive where status = 'APPROVED' group by event_id) c
+where c.event_id = e.id;
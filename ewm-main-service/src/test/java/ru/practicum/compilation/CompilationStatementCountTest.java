@@ -0,0 +1,70 @@
+package ru.practicum.compilation;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.servicecommon.sql.SqlStatsFilter;
+import ru.practicum.servicecommon.test.PostgresIntegrationTest;
+import ru.practicum.statsclient.StatsClient;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /compilations укладывается в 3 запроса при любом размере страницы: id страницы, подборки с событиями, заявки.
+ * Счёт берётся из X-Sql-Statements — счётчик datasource-proxy привязан к потоку запроса.
+ */
+@SpringBootTest(properties = {
+        "ewm.sql.debug-headers=true",
+        "ewm.scheduler.enabled=false"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CompilationStatementCountTest extends PostgresIntegrationTest {
+
+    @MockBean
+    private StatsClient statsClient;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeAll
+    void seed() {
+        jdbc.execute("insert into users (id, name, email) values (1, 'u', 'u@t')");
+        jdbc.execute("insert into categories (id, name) values (1, 'c')");
+        jdbc.execute("""
+                insert into events (id, annotation, description, title, category_id, initiator_id, created_on,
+                                    event_date, paid, participant_limit, request_moderation, state)
+                select g, 'a', 'd', 't', 1, 1, now(), now() + interval '10 days', false, 0, true, 'PUBLISHED'
+                from generate_series(1, 180) g
+                """);
+        jdbc.execute("insert into compilations (id, title, pinned) select g, 'c' || g, false from generate_series(1, 60) g");
+        jdbc.execute("""
+                insert into compilation_events (compilation_id, event_id)
+                select g % 60 + 1, g from generate_series(1, 180) g
+                """);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 50})
+    void pageTakesThreeStatementsRegardlessOfSize(int size) throws Exception {
+        mvc.perform(get("/compilations").param("from", "0").param("size", String.valueOf(size)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(size)))
+                .andExpect(jsonPath("$[0].events", hasSize(3)))
+                .andExpect(header().string(SqlStatsFilter.STATEMENTS_HEADER, "3"));
+    }
+}
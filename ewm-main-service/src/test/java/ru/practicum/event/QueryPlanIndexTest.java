@@ -0,0 +1,218 @@
+package ru.practicum.event;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.category.repository.CategoryRepository;
+import ru.practicum.compilation.repository.CompilationRepository;
+import ru.practicum.event.repository.ArchivedEventRepository;
+import ru.practicum.event.repository.EventRepository;
+import ru.practicum.servicecommon.test.PostgresIntegrationTest;
+import ru.practicum.servicecommon.test.QueryPlan;
+import ru.practicum.servicecommon.test.StatementRecorder;
+import ru.practicum.statsclient.StatsClient;
+import ru.practicum.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Горячие запросы сервиса идут по индексам из миграций. SQL записывается с datasource-proxy при вызове
+ * эндпоинтов и репозиториев и проверяется в generic-плане (см. {@link QueryPlan}).
+ */
+@SpringBootTest(properties = "ewm.scheduler.enabled=false")
+@AutoConfigureMockMvc
+@Import(StatementRecorder.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanIndexTest extends PostgresIntegrationTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    @MockBean
+    private StatsClient statsClient;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private TransactionTemplate tx;
+
+    @Autowired
+    private StatementRecorder recorder;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ArchivedEventRepository archivedEventRepository;
+
+    @Autowired
+    private CompilationRepository compilationRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeAll
+    void seed() {
+        jdbc.execute("""
+                insert into users (id, name, email)
+                select g, 'u' || g, 'u' || g || '@t' from generate_series(1, 200) g
+                """);
+        jdbc.execute("insert into categories (id, name) select g, 'c' || g from generate_series(1, 20) g");
+        // четверть событий ждёт отложенной публикации, остальные опубликованы
+        jdbc.execute("""
+                insert into events (id, annotation, description, title, category_id, initiator_id, created_on,
+                                    event_date, published_on, publish_on, location_lat, location_lon,
+                                    paid, participant_limit, request_moderation, state)
+                select g, md5(g::text), md5((g * 7)::text), 't', g % 20 + 1, g % 200 + 1, now(),
+                       now() + (g % 365 - 100) * interval '1 day',
+                       case when g % 4 <> 0 then now() - (g % 1000) * interval '1 minute' end,
+                       case when g % 4 = 0 then now() + (g % 30) * interval '1 hour' end,
+                       55 + (g % 100) / 100.0, 37 + (g % 100) / 100.0, false, 0, true,
+                       case when g % 4 <> 0 then 'PUBLISHED' else 'PENDING' end
+                from generate_series(1, 20000) g
+                """);
+        jdbc.execute("""
+                insert into compilations (id, title, pinned)
+                select g, 'c' || g, g % 5 = 0 from generate_series(1, 500) g
+                """);
+        jdbc.execute("""
+                insert into compilation_events (compilation_id, event_id)
+                select g % 500 + 1, g from generate_series(1, 5000) g
+                """);
+        jdbc.execute("vacuum analyze");
+    }
+
+    @Test
+    void publicSearchByDateRangeUsesStateDateIndex() throws Exception {
+        assertEventPlans(get("/events").param("rangeStart", format(NOW)).param("rangeEnd", format(NOW.plusDays(30))),
+                "idx_events_state_date");
+    }
+
+    @Test
+    void publicSearchByCategoryUsesPublishedCategoryIndex() throws Exception {
+        assertEventPlans(get("/events").param("categories", "3"), "idx_events_published_category_date");
+    }
+
+    @Test
+    void publicTextSearchUsesTrigramIndexes() throws Exception {
+        assertEventPlans(get("/events").param("text", "c4ca4238"),
+                "idx_events_published_annotation_trgm", "idx_events_published_description_trgm");
+    }
+
+    @Test
+    void radiusSearchUsesEarthIndex() throws Exception {
+        assertEventPlans(get("/events").param("lat", "55.5").param("lon", "37.5").param("radius", "5"),
+                "idx_events_published_earth");
+    }
+
+    @Test
+    void boxSearchUsesPointIndex() throws Exception {
+        assertEventPlans(get("/events").param("minLat", "55.1").param("maxLat", "55.3")
+                .param("minLon", "37.1").param("maxLon", "37.3"), "idx_events_published_point");
+    }
+
+    @Test
+    void initiatorEventsUseInitiatorIndexes() throws Exception {
+        assertPlan("events_archive", () -> mvc.perform(get("/users/42/events")).andExpect(status().isOk()),
+                "idx_events_initiator", "idx_events_archive_initiator");
+    }
+
+    @Test
+    void feedReplayUsesPublishedOnIndex() throws Exception {
+        assertPlan("from events",
+                () -> eventRepository.findPublishedSince(NOW.minusMinutes(10), List.of(5L), PageRequest.of(0, 501)),
+                "idx_events_published_on");
+    }
+
+    @Test
+    void scheduledPublicationUsesPendingPublishOnIndex() throws Exception {
+        assertPlan("update events", () -> tx.execute(s -> eventRepository.publishScheduled(NOW.minusYears(1), 100)),
+                "idx_events_pending_publish_on");
+    }
+
+    @Test
+    void archivingUsesStateDateIndex() throws Exception {
+        assertPlan("update events",
+                () -> tx.execute(s -> eventRepository.archivePublishedBefore(NOW.minusYears(1), NOW, 100)),
+                "idx_events_state_date");
+    }
+
+    @Test
+    void movingToArchiveUsesEventDateAndCompilationEventIndexes() throws Exception {
+        assertPlan("events_archive",
+                () -> tx.execute(s -> archivedEventRepository.moveOlderThan(NOW.minusYears(1), 100)),
+                "idx_events_date", "idx_compilation_events_event");
+    }
+
+    @Test
+    void categoryUsageCheckUsesCategoryIndex() throws Exception {
+        assertPlan("from events", () -> eventRepository.existsByCategory_Id(5L), "idx_events_category");
+    }
+
+    @Test
+    void compilationsByEventUseEventIndex() throws Exception {
+        assertPlan("compilation_events", () -> compilationRepository.findIdsByEventId(77L),
+                "idx_compilation_events_event");
+    }
+
+    @Test
+    void pinnedCompilationsUsePinnedIndex() throws Exception {
+        assertPlan("compilations", () -> compilationRepository.findPageIdsByPinned(true, PageRequest.of(0, 10)),
+                "idx_compilations_pinned");
+    }
+
+    @Test
+    void caseInsensitiveUniquenessChecksUseLowerIndexes() throws Exception {
+        assertPlan("from categories", () -> categoryRepository.existsByNameIgnoreCase("C3"),
+                "idx_categories_name_lower");
+        assertPlan("from categories", () -> categoryRepository.existsByNameIgnoreCaseAndIdNot("C3", 3L),
+                "idx_categories_name_lower");
+        assertPlan("from users", () -> userRepository.existsByEmailIgnoreCase("U3@t"),
+                "idx_users_email_lower");
+    }
+
+    /**
+     * Все выражения к events, которые выполнил запрос (метки свежести, страница, count), идут по индексам.
+     */
+    private void assertEventPlans(MockHttpServletRequestBuilder request, String... indexes) throws Exception {
+        List<String> statements = recorder.record(() -> mvc.perform(request).andExpect(status().isOk())).stream()
+                .filter(sql -> sql.contains("from events "))
+                .toList();
+        assertThat(statements).isNotEmpty();
+        for (String sql : statements) {
+            QueryPlan plan = QueryPlan.generic(jdbc, sql);
+            assertThat(plan.indexNames()).as(plan.toString()).contains(indexes);
+        }
+    }
+
+    private void assertPlan(String table, Callable<?> action, String... indexes) throws Exception {
+        QueryPlan plan = QueryPlan.generic(jdbc, recorder.single(sql -> sql.contains(table), action));
+        assertThat(plan.indexNames()).as(plan.toString()).contains(indexes);
+    }
+
+    private static String format(LocalDateTime value) {
+        return value.withNano(0).toString().replace('T', ' ');
+    }
+}
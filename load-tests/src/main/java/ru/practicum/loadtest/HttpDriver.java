@@ -0,0 +1,63 @@
+package ru.practicum.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Тонкая обёртка над {@link HttpClient}: JSON-тело на входе, код ответа и тело на выходе.
+ */
+final class HttpDriver {
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    Response get(String url) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(url)).GET());
+    }
+
+    Response post(String url, Object body) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(body == null ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body))));
+    }
+
+    Response patch(String url, Object body) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body))));
+    }
+
+    private Response send(HttpRequest.Builder builder) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(builder.timeout(TIMEOUT).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        return new Response(response.statusCode(), response.body(), response.headers());
+    }
+
+    JsonNode json(Response response) throws IOException {
+        return mapper.readTree(response.body());
+    }
+
+    record Response(int status, byte[] body, HttpHeaders headers) {
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+
+        long headerAsLong(String name) {
+            return headers.firstValueAsLong(name).orElse(0);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Замкнутая модель нагрузки: {@code concurrency} виртуальных потоков шлют запросы без пауз,
+ * сценарий выбирается по весам из {@link LoadTestConfig#mix()}.
+ */
+final class LoadRunner {
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final LoadTestConfig config;
+    private final HttpDriver http;
+    private final Workload workload;
+    private final Scenario[] wheel;
+
+    LoadRunner(LoadTestConfig config, HttpDriver http, Workload workload) {
+        this.config = config;
+        this.http = http;
+        this.workload = workload;
+        int total = config.mix().values().stream().mapToInt(Integer::intValue).sum();
+        if (total <= 0) {
+            throw new IllegalArgumentException("Сумма весов сценариев должна быть положительной");
+        }
+        this.wheel = new Scenario[total];
+        int pos = 0;
+        for (Scenario s : Scenario.values()) {
+            for (int i = 0; i < config.mix().get(s); i++) {
+                wheel[pos++] = s;
+            }
+        }
+    }
+
+    Map<Scenario, EndpointStats> run(Duration duration) throws InterruptedException {
+        Map<Scenario, EndpointStats> stats = new EnumMap<>(Scenario.class);
+        for (Scenario s : Scenario.values()) {
+            stats.put(s, new EndpointStats());
+        }
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < config.concurrency(); w++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        Scenario s = wheel[ThreadLocalRandom.current().nextInt(wheel.length)];
+                        stats.get(s).record(call(s));
+                    }
+                });
+            }
+        }
+        return stats;
+    }
+
+    private Outcome call(Scenario scenario) {
+        long start = System.nanoTime();
+        try {
+            int status = workload.execute(scenario, http).status();
+            return new Outcome(status, System.nanoTime() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Outcome(0, System.nanoTime() - start);
+        } catch (Exception e) {
+            return new Outcome(0, System.nanoTime() - start);
+        }
+    }
+
+    private record Outcome(int status, long nanos) {
+    }
+
+    /**
+     * Задержки и коды ответов одного эндпоинта. 4xx считаются отдельно: для всплесков заявок
+     * отказ по лимиту участников — ожидаемый ответ, а не ошибка.
+     */
+    static final class EndpointStats {
+        final Histogram latency = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        final LongAdder ok = new LongAdder();
+        final LongAdder clientErrors = new LongAdder();
+        final LongAdder failures = new LongAdder();
+
+        void record(Outcome outcome) {
+            latency.recordValue(Math.min(MAX_LATENCY_MICROS, TimeUnit.NANOSECONDS.toMicros(outcome.nanos())));
+            if (outcome.status() >= 200 && outcome.status() < 400) {
+                ok.increment();
+            } else if (outcome.status() >= 400 && outcome.status() < 500) {
+                clientErrors.increment();
+            } else {
+                failures.increment();
+            }
+        }
+
+        long count() {
+            return latency.getTotalCount();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.loadtest;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Точка входа нагрузочного прогона: (опционально) поднять сервисы, засеять данные, прогреть и замерить.
+ */
+public final class LoadTestApp {
+    private LoadTestApp() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseline = Arrays.stream(args).filter(a -> a.startsWith("--baseline="))
+                .map(a -> a.substring("--baseline=".length())).findFirst().orElse(null);
+        LoadTestConfig config = LoadTestConfig.parse(Arrays.stream(args)
+                .filter(a -> !a.startsWith("--baseline=")).toArray(String[]::new));
+        HttpDriver http = new HttpDriver();
+        ServiceLauncher launcher = new ServiceLauncher(config, http);
+        Runtime.getRuntime().addShutdownHook(new Thread(launcher::close));
+        if (config.boot()) {
+            launcher.start();
+        }
+
+        Seeder seeder = new Seeder(config, http);
+        SeedData data = config.seed() ? seeder.seed() : seeder.discover();
+        LoadRunner runner = new LoadRunner(config, http, new Workload(config, data));
+
+        System.out.printf("Прогрев %s, %d потоков%n", config.warmup(), config.concurrency());
+        runner.run(config.warmup());
+        System.out.printf("Замер %s, %d потоков, смесь %s%n", config.duration(), config.concurrency(), config.mix());
+        Report report = new Report(runner.run(config.duration()), config.duration());
+        report.print(baseline == null ? null : Path.of(baseline));
+        System.out.printf("%nОтчёт: %s%n", report.write(config.reportDir()));
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Параметры прогона; задаются аргументами вида {@code --key=value}.
+ */
+public record LoadTestConfig(
+        String mainUrl,
+        String statsUrl,
+        boolean boot,
+        Path mainJar,
+        Path statsJar,
+        String mainDbUrl,
+        String statsDbUrl,
+        String dbUser,
+        String dbPassword,
+        boolean seed,
+        int users,
+        int categories,
+        int events,
+        int requests,
+        int hits,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        Map<Scenario, Integer> mix,
+        Path reportDir,
+        long randomSeed,
+        Map<String, String> serviceEnv) {
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> a = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Ожидается аргумент вида --key=value: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            a.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        Map<String, String> serviceEnv = new HashMap<>();
+        a.forEach((k, v) -> {
+            if (k.startsWith("env.")) {
+                serviceEnv.put(k.substring(4), v);
+            }
+        });
+        Map<Scenario, Integer> mix = new HashMap<>();
+        for (Scenario s : Scenario.values()) {
+            mix.put(s, Integer.parseInt(a.getOrDefault("mix." + s.key(), String.valueOf(s.defaultWeight()))));
+        }
+        return new LoadTestConfig(
+                a.getOrDefault("main-url", "http://localhost:8080"),
+                a.getOrDefault("stats-url", "http://localhost:9090"),
+                Boolean.parseBoolean(a.getOrDefault("boot", "false")),
+                Path.of(a.getOrDefault("main-jar", "ewm-main-service/target/ewm-main-service-0.0.1-SNAPSHOT-exec.jar")),
+                Path.of(a.getOrDefault("stats-jar", "stats/stats-server/target/stats-server-0.0.1-SNAPSHOT.jar")),
+                a.getOrDefault("main-db-url", "jdbc:postgresql://localhost:5433/ewm"),
+                a.getOrDefault("stats-db-url", "jdbc:postgresql://localhost:5432/stats"),
+                a.getOrDefault("db-user", "postgres"),
+                a.getOrDefault("db-password", "postgres"),
+                Boolean.parseBoolean(a.getOrDefault("seed", "true")),
+                Integer.parseInt(a.getOrDefault("users", "500")),
+                Integer.parseInt(a.getOrDefault("categories", "30")),
+                Integer.parseInt(a.getOrDefault("events", "3000")),
+                Integer.parseInt(a.getOrDefault("requests", "10000")),
+                Integer.parseInt(a.getOrDefault("hits", "100000")),
+                Integer.parseInt(a.getOrDefault("concurrency", "64")),
+                Duration.parse(a.getOrDefault("warmup", "PT30S")),
+                Duration.parse(a.getOrDefault("duration", "PT2M")),
+                mix,
+                Path.of(a.getOrDefault("report-dir", "load-tests/target/report")),
+                Long.parseLong(a.getOrDefault("random-seed", "42")),
+                serviceEnv);
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+final class Parallel {
+    private Parallel() {
+    }
+
+    interface Task {
+        void run(int i) throws Exception;
+    }
+
+    /**
+     * Выполняет {@code task} для 0..count-1 на виртуальных потоках, не более {@code limit} одновременно.
+     */
+    static void forEach(int count, int limit, Task task) throws InterruptedException {
+        Semaphore permits = new Semaphore(limit);
+        List<Future<?>> futures = new ArrayList<>(count);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < count; i++) {
+                int idx = i;
+                permits.acquire();
+                futures.add(executor.submit(() -> {
+                    try {
+                        task.run(idx);
+                        return null;
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+        for (Future<?> f : futures) {
+            try {
+                f.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Ошибка при подготовке данных", e.getCause());
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package ru.practicum.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Сводка прогона: пропускная способность и перцентили по эндпоинтам; сравнение с базовой линией из CSV.
+ */
+final class Report {
+    private static final String HEADER = "endpoint,requests,rps,ok,4xx,errors,p50_ms,p90_ms,p99_ms,max_ms";
+
+    private final List<Row> rows = new ArrayList<>();
+
+    Report(Map<Scenario, LoadRunner.EndpointStats> stats, Duration duration) {
+        double seconds = duration.toMillis() / 1000.0;
+        for (Map.Entry<Scenario, LoadRunner.EndpointStats> e : stats.entrySet()) {
+            LoadRunner.EndpointStats s = e.getValue();
+            if (s.count() == 0) {
+                continue;
+            }
+            rows.add(new Row(Workload.endpoint(e.getKey()), s.count(), s.count() / seconds,
+                    s.ok.sum(), s.clientErrors.sum(), s.failures.sum(),
+                    ms(s.latency.getValueAtPercentile(50)), ms(s.latency.getValueAtPercentile(90)),
+                    ms(s.latency.getValueAtPercentile(99)), ms(s.latency.getMaxValue())));
+        }
+    }
+
+    void print(Path baseline) throws IOException {
+        Map<String, Row> base = baseline != null && Files.isRegularFile(baseline) ? read(baseline) : Map.of();
+        System.out.printf("%n%-28s %9s %9s %7s %7s %7s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "rps", "ok", "4xx", "errors", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (Row r : rows) {
+            System.out.printf(Locale.ROOT, "%-28s %9d %9.1f %7d %7d %7d %9.2f %9.2f %9.2f %9.2f%n",
+                    r.endpoint, r.requests, r.rps, r.ok, r.clientErrors, r.errors, r.p50, r.p90, r.p99, r.max);
+            Row b = base.get(r.endpoint);
+            if (b != null) {
+                System.out.printf(Locale.ROOT, "%-28s %9s %+8.1f%% %7s %7s %7s %+8.1f%% %9s %+8.1f%%%n",
+                        "  vs baseline", "", delta(r.rps, b.rps), "", "", "",
+                        delta(r.p50, b.p50), "", delta(r.p99, b.p99));
+            }
+        }
+    }
+
+    Path write(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        for (Row r : rows) {
+            lines.add(String.format(Locale.ROOT, "%s,%d,%.2f,%d,%d,%d,%.3f,%.3f,%.3f,%.3f",
+                    r.endpoint, r.requests, r.rps, r.ok, r.clientErrors, r.errors, r.p50, r.p90, r.p99, r.max));
+        }
+        Path file = dir.resolve("report-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".csv");
+        Files.write(file, lines);
+        Files.write(dir.resolve("latest.csv"), lines);
+        return file;
+    }
+
+    private static Map<String, Row> read(Path file) throws IOException {
+        Map<String, Row> result = new HashMap<>();
+        for (String line : Files.readAllLines(file)) {
+            if (line.equals(HEADER) || line.isBlank()) {
+                continue;
+            }
+            String[] c = line.split(",");
+            result.put(c[0], new Row(c[0], Long.parseLong(c[1]), Double.parseDouble(c[2]), Long.parseLong(c[3]),
+                    Long.parseLong(c[4]), Long.parseLong(c[5]), Double.parseDouble(c[6]), Double.parseDouble(c[7]),
+                    Double.parseDouble(c[8]), Double.parseDouble(c[9])));
+        }
+        return result;
+    }
+
+    private static double ms(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static double delta(double current, double base) {
+        return base == 0 ? 0 : (current - base) * 100.0 / base;
+    }
+
+    private record Row(String endpoint, long requests, double rps, long ok, long clientErrors, long errors,
+                       double p50, double p90, double p99, double max) {
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.loadtest;
+
+/**
+ * Виды запросов смешанной нагрузки; вес задаёт долю сценария в потоке запросов.
+ */
+public enum Scenario {
+    PUBLIC_SEARCH("public-search", 45),
+    EVENT_DETAIL("event-detail", 35),
+    PARTICIPATION("participation", 10),
+    ADMIN_SEARCH("admin-search", 5),
+    STATS("stats", 5);
+
+    private final String key;
+    private final int defaultWeight;
+
+    Scenario(String key, int defaultWeight) {
+        this.key = key;
+        this.defaultWeight = defaultWeight;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public int defaultWeight() {
+        return defaultWeight;
+    }
+}
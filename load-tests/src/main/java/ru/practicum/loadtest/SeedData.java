@@ -0,0 +1,12 @@
+package ru.practicum.loadtest;
+
+import java.util.List;
+
+/**
+ * Идентификаторы созданных (или найденных) сущностей, из которых сценарии собирают запросы.
+ */
+record SeedData(List<Long> userIds, List<Long> categoryIds, List<PublishedEvent> events) {
+
+    record PublishedEvent(long id, long initiatorId) {
+    }
+}
@@ -0,0 +1,152 @@
+package ru.practicum.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Наполняет сервисы данными через их публичные API: пользователи, категории, события, заявки и просмотры.
+ */
+final class Seeder {
+    static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    static final String[] WORDS = {"concert", "jazz", "rock", "festival", "lecture", "art", "exhibition",
+            "theatre", "cinema", "marathon", "yoga", "kids", "food", "wine", "science", "startup", "meetup",
+            "football", "chess", "opera", "comedy", "dance", "photo", "travel", "history"};
+    private static final int PAGE = 1000;
+
+    private final LoadTestConfig config;
+    private final HttpDriver http;
+    private final String tag = Long.toString(System.currentTimeMillis(), 36);
+
+    Seeder(LoadTestConfig config, HttpDriver http) {
+        this.config = config;
+        this.http = http;
+    }
+
+    SeedData seed() throws Exception {
+        int parallelism = Math.max(4, config.concurrency());
+        List<Long> users = Collections.synchronizedList(new ArrayList<>());
+        Parallel.forEach(config.users(), parallelism, i -> users.add(id(http.post(config.mainUrl() + "/admin/users",
+                Map.of("name", "Load User " + i, "email", "u" + i + "-" + tag + "@load.test")))));
+        System.out.printf("Пользователей: %d%n", users.size());
+
+        List<Long> categories = Collections.synchronizedList(new ArrayList<>());
+        Parallel.forEach(config.categories(), parallelism, i -> categories.add(id(http.post(
+                config.mainUrl() + "/admin/categories", Map.of("name", "cat-" + tag + "-" + i)))));
+        System.out.printf("Категорий: %d%n", categories.size());
+
+        List<SeedData.PublishedEvent> events = Collections.synchronizedList(new ArrayList<>());
+        Parallel.forEach(config.events(), parallelism, i -> {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+            long initiator = users.get(rnd.nextInt(users.size()));
+            long eventId = id(http.post(config.mainUrl() + "/users/" + initiator + "/events", newEvent(i, categories)));
+            // небольшая доля событий остаётся на модерации — так выглядит админский поиск в проде
+            if (rnd.nextInt(100) < 85) {
+                HttpDriver.Response r = http.patch(config.mainUrl() + "/admin/events/" + eventId,
+                        Map.of("stateAction", "PUBLISH_EVENT"));
+                if (r.ok()) {
+                    events.add(new SeedData.PublishedEvent(eventId, initiator));
+                }
+            }
+        });
+        System.out.printf("Опубликованных событий: %d из %d%n", events.size(), config.events());
+
+        AtomicInteger accepted = new AtomicInteger();
+        Parallel.forEach(config.requests(), parallelism, i -> {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+            SeedData.PublishedEvent e = events.get(skewed(rnd, events.size()));
+            long user = users.get(rnd.nextInt(users.size()));
+            if (user != e.initiatorId() && http.post(config.mainUrl() + "/users/" + user
+                    + "/requests?eventId=" + e.id(), null).ok()) {
+                accepted.incrementAndGet();
+            }
+        });
+        System.out.printf("Заявок на участие: %d из %d попыток%n", accepted.get(), config.requests());
+
+        LocalDateTime now = LocalDateTime.now();
+        Parallel.forEach(config.hits(), parallelism, i -> {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+            String uri = rnd.nextInt(10) == 0 ? "/events" : "/events/" + events.get(skewed(rnd, events.size())).id();
+            http.post(config.statsUrl() + "/hit", Map.of(
+                    "app", "ewm-main-service",
+                    "uri", uri,
+                    "ip", "10." + rnd.nextInt(256) + "." + rnd.nextInt(256) + "." + rnd.nextInt(1, 255),
+                    "timestamp", now.minusSeconds(rnd.nextLong(30L * 24 * 3600)).format(FORMAT)));
+        });
+        System.out.printf("Просмотров: %d%n", config.hits());
+        return new SeedData(List.copyOf(users), List.copyOf(categories), List.copyOf(events));
+    }
+
+    /**
+     * Находит уже существующие данные, если прогон запущен с {@code --seed=false}.
+     */
+    SeedData discover() throws Exception {
+        List<Long> users = new ArrayList<>();
+        for (JsonNode n : pages(config.mainUrl() + "/admin/users?")) {
+            users.add(n.get("id").asLong());
+        }
+        List<Long> categories = new ArrayList<>();
+        for (JsonNode n : pages(config.mainUrl() + "/categories?")) {
+            categories.add(n.get("id").asLong());
+        }
+        List<SeedData.PublishedEvent> events = new ArrayList<>();
+        for (JsonNode n : pages(config.mainUrl() + "/admin/events?states=PUBLISHED&")) {
+            events.add(new SeedData.PublishedEvent(n.get("id").asLong(), n.get("initiator").get("id").asLong()));
+        }
+        if (users.isEmpty() || categories.isEmpty() || events.isEmpty()) {
+            throw new IllegalStateException("В сервисе нет данных для нагрузки — запустите с --seed=true");
+        }
+        System.out.printf("Найдено: пользователей %d, категорий %d, опубликованных событий %d%n",
+                users.size(), categories.size(), events.size());
+        return new SeedData(users, categories, events);
+    }
+
+    private List<JsonNode> pages(String baseUrl) throws Exception {
+        List<JsonNode> result = new ArrayList<>();
+        for (int from = 0; ; from += PAGE) {
+            JsonNode page = http.json(http.get(baseUrl + "from=" + from + "&size=" + PAGE));
+            page.forEach(result::add);
+            if (page.size() < PAGE) {
+                return result;
+            }
+        }
+    }
+
+    private Map<String, Object> newEvent(int i, List<Long> categories) {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        String topic = WORDS[rnd.nextInt(WORDS.length)] + " " + WORDS[rnd.nextInt(WORDS.length)];
+        int limit = rnd.nextInt(10) < 3 ? 0 : rnd.nextInt(5, 200);
+        return Map.of(
+                "annotation", "Annotation about " + topic + " number " + i + " in the city",
+                "description", "Detailed description of " + topic + " event " + i + ". ".repeat(1 + rnd.nextInt(20)),
+                "title", "Load " + topic + " " + i,
+                "category", categories.get(rnd.nextInt(categories.size())),
+                "eventDate", LocalDateTime.now().plusDays(1 + rnd.nextInt(180)).format(FORMAT),
+                "location", Map.of("lat", 55.5 + rnd.nextDouble(), "lon", 37.0 + rnd.nextDouble()),
+                "paid", rnd.nextBoolean(),
+                "participantLimit", limit,
+                "requestModeration", rnd.nextBoolean());
+    }
+
+    /**
+     * Индекс с перекосом к началу списка: небольшая доля событий собирает большую часть трафика.
+     */
+    static int skewed(ThreadLocalRandom rnd, int size) {
+        double r = rnd.nextDouble();
+        return (int) (size * r * r * r);
+    }
+
+    private long id(HttpDriver.Response response) throws Exception {
+        if (!response.ok()) {
+            throw new IllegalStateException("Сервис ответил " + response.status() + ": " + new String(response.body()));
+        }
+        return http.json(response).get("id").asLong();
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Поднимает stats-server и ewm-main-service из собранных jar против локальных БД и гасит их по завершении.
+ */
+final class ServiceLauncher implements AutoCloseable {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private final LoadTestConfig config;
+    private final HttpDriver http;
+    private final List<Process> processes = new ArrayList<>();
+
+    ServiceLauncher(LoadTestConfig config, HttpDriver http) {
+        this.config = config;
+        this.http = http;
+    }
+
+    void start() throws IOException, InterruptedException {
+        Files.createDirectories(config.reportDir());
+        start("stats-server", config.statsJar(), Map.of(
+                "SERVER_PORT", String.valueOf(URI.create(config.statsUrl()).getPort()),
+                "SPRING_DATASOURCE_URL", config.statsDbUrl(),
+                "SPRING_DATASOURCE_USERNAME", config.dbUser(),
+                "SPRING_DATASOURCE_PASSWORD", config.dbPassword()));
+        awaitReady("stats-server", config.statsUrl()
+                + "/stats?start=2000-01-01%2000:00:00&end=2000-01-02%2000:00:00");
+        start("ewm-main-service", config.mainJar(), Map.of(
+                "SERVER_PORT", String.valueOf(URI.create(config.mainUrl()).getPort()),
+                "STATS_BASE_URL", config.statsUrl(),
+                "SPRING_DATASOURCE_URL", config.mainDbUrl(),
+                "SPRING_DATASOURCE_USERNAME", config.dbUser(),
+                "SPRING_DATASOURCE_PASSWORD", config.dbPassword()));
+        awaitReady("ewm-main-service", config.mainUrl() + "/categories");
+    }
+
+    private void start(String name, Path jar, Map<String, String> env) throws IOException {
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException("Не найден jar " + jar + " — соберите проект: mvn package -DskipTests");
+        }
+        String java = ProcessHandle.current().info().command().orElse("java");
+        ProcessBuilder pb = new ProcessBuilder(java, "-jar", jar.toString())
+                .redirectErrorStream(true)
+                .redirectOutput(config.reportDir().resolve(name + ".log").toFile());
+        pb.environment().putAll(env);
+        pb.environment().putAll(config.serviceEnv());
+        processes.add(pb.start());
+        System.out.printf("Запущен %s (%s)%n", name, jar);
+    }
+
+    private void awaitReady(String name, String probeUrl) throws InterruptedException {
+        Instant deadline = Instant.now().plus(STARTUP_TIMEOUT);
+        while (Instant.now().isBefore(deadline)) {
+            for (Process p : processes) {
+                if (!p.isAlive()) {
+                    throw new IllegalStateException(name + " завершился при старте, см. лог в " + config.reportDir());
+                }
+            }
+            try {
+                if (http.get(probeUrl).ok()) {
+                    System.out.printf("%s готов%n", name);
+                    return;
+                }
+            } catch (IOException ignored) {
+                // ещё не слушает порт
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException(name + " не поднялся за " + STARTUP_TIMEOUT);
+    }
+
+    @Override
+    public void close() {
+        for (int i = processes.size() - 1; i >= 0; i--) {
+            Process p = processes.get(i);
+            p.destroy();
+            try {
+                if (!p.waitFor(20, TimeUnit.SECONDS)) {
+                    p.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                p.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.loadtest;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Собирает очередной запрос для сценария из засеянных данных.
+ */
+final class Workload {
+    private final LoadTestConfig config;
+    private final SeedData data;
+    private final int hotEvents;
+
+    Workload(LoadTestConfig config, SeedData data) {
+        this.config = config;
+        this.data = data;
+        // всплески заявок идут в небольшую группу популярных событий, как при открытии регистрации
+        this.hotEvents = Math.max(1, data.events().size() / 100);
+    }
+
+    HttpDriver.Response execute(Scenario scenario, HttpDriver http) throws Exception {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        return switch (scenario) {
+            case PUBLIC_SEARCH -> http.get(config.mainUrl() + "/events?" + publicSearchQuery(rnd));
+            case EVENT_DETAIL -> http.get(config.mainUrl() + "/events/" + event(rnd, data.events().size()).id());
+            case PARTICIPATION -> {
+                SeedData.PublishedEvent e = event(rnd, hotEvents);
+                long user = data.userIds().get(rnd.nextInt(data.userIds().size()));
+                yield http.post(config.mainUrl() + "/users/" + user + "/requests?eventId=" + e.id(), null);
+            }
+            case ADMIN_SEARCH -> http.get(config.mainUrl() + "/admin/events?" + adminSearchQuery(rnd));
+            case STATS -> http.get(config.statsUrl() + "/stats?" + statsQuery(rnd));
+        };
+    }
+
+    static String endpoint(Scenario scenario) {
+        return switch (scenario) {
+            case PUBLIC_SEARCH -> "GET /events";
+            case EVENT_DETAIL -> "GET /events/{id}";
+            case PARTICIPATION -> "POST /users/{id}/requests";
+            case ADMIN_SEARCH -> "GET /admin/events";
+            case STATS -> "GET /stats";
+        };
+    }
+
+    private String publicSearchQuery(ThreadLocalRandom rnd) {
+        StringBuilder q = new StringBuilder();
+        if (rnd.nextInt(3) > 0) {
+            q.append("text=").append(Seeder.WORDS[rnd.nextInt(Seeder.WORDS.length)]).append('&');
+        }
+        if (rnd.nextBoolean()) {
+            q.append("categories=").append(category(rnd)).append(',').append(category(rnd)).append('&');
+        }
+        if (rnd.nextInt(4) == 0) {
+            q.append("paid=").append(rnd.nextBoolean()).append('&');
+        }
+        if (rnd.nextInt(4) == 0) {
+            q.append("onlyAvailable=true&");
+        }
+        if (rnd.nextInt(3) == 0) {
+            LocalDateTime start = LocalDateTime.now().plusDays(rnd.nextInt(60));
+            q.append("rangeStart=").append(date(start))
+                    .append("&rangeEnd=").append(date(start.plusDays(30))).append('&');
+        }
+        q.append("sort=").append(rnd.nextInt(4) == 0 ? "VIEWS" : "EVENT_DATE");
+        q.append("&from=").append(rnd.nextInt(5) * 10).append("&size=10");
+        return q.toString();
+    }
+
+    private String adminSearchQuery(ThreadLocalRandom rnd) {
+        StringBuilder q = new StringBuilder("states=PUBLISHED,PENDING&");
+        if (rnd.nextBoolean()) {
+            q.append("users=").append(data.userIds().get(rnd.nextInt(data.userIds().size()))).append('&');
+        }
+        if (rnd.nextBoolean()) {
+            q.append("categories=").append(category(rnd)).append('&');
+        }
+        q.append("from=").append(rnd.nextInt(5) * 20).append("&size=20");
+        return q.toString();
+    }
+
+    private String statsQuery(ThreadLocalRandom rnd) {
+        LocalDateTime now = LocalDateTime.now();
+        StringBuilder q = new StringBuilder("start=").append(date(now.minusDays(30)))
+                .append("&end=").append(date(now)).append("&unique=").append(rnd.nextBoolean());
+        int uris = 1 + rnd.nextInt(10);
+        for (int i = 0; i < uris; i++) {
+            q.append("&uris=/events/").append(event(rnd, data.events().size()).id());
+        }
+        return q.toString();
+    }
+
+    private SeedData.PublishedEvent event(ThreadLocalRandom rnd, int bound) {
+        return data.events().get(Seeder.skewed(rnd, Math.min(bound, data.events().size())));
+    }
+
+    private long category(ThreadLocalRandom rnd) {
+        return data.categoryIds().get(rnd.nextInt(data.categoryIds().size()));
+    }
+
+    private static String date(LocalDateTime dateTime) {
+        return URLEncoder.encode(dateTime.format(Seeder.FORMAT), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.loadtest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Число обращений к БД для массовых записей: приём хитов по одному и пачкой, массовая смена статуса заявок.
+ * Обращения считаются по заголовку X-Sql-Statements (datasource-proxy считает JDBC-батч одним выполнением),
+ * поэтому сервисы поднимаются с включёнными отладочными заголовками.
+ *
+ * <pre>java -cp load-tests/target/load-tests.jar ru.practicum.loadtest.WriteBatchBenchmark --boot=true</pre>
+ */
+public final class WriteBatchBenchmark {
+    private static final String STATEMENTS = "X-Sql-Statements";
+
+    private WriteBatchBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> withDebug = new ArrayList<>(List.of(args));
+        withDebug.add("--env.EWM_SQL_DEBUG_HEADERS=true");
+        withDebug.add("--env.STATS_SQL_DEBUG_HEADERS=true");
+        LoadTestConfig config = LoadTestConfig.parse(withDebug.toArray(String[]::new));
+        HttpDriver http = new HttpDriver();
+        ServiceLauncher launcher = new ServiceLauncher(config, http);
+        Runtime.getRuntime().addShutdownHook(new Thread(launcher::close));
+        if (config.boot()) {
+            launcher.start();
+        }
+        int n = Math.min(config.requests(), 1000);
+
+        System.out.printf("%n%-40s %8s %12s %10s%n", "operation", "rows", "statements", "ms");
+        hits(config, http, n);
+        requestStatus(config, http, n);
+    }
+
+    private static void hits(LoadTestConfig config, HttpDriver http, int n) throws Exception {
+        List<Map<String, Object>> hits = new ArrayList<>(n);
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        for (int i = 0; i < n; i++) {
+            hits.add(Map.of("app", "write-benchmark", "uri", "/events/" + rnd.nextInt(1000),
+                    "ip", "10.1." + rnd.nextInt(256) + "." + rnd.nextInt(1, 255),
+                    "timestamp", LocalDateTime.now().minusSeconds(i).format(Seeder.FORMAT)));
+        }
+        long statements = 0;
+        long start = System.nanoTime();
+        for (Map<String, Object> hit : hits) {
+            statements += http.post(config.statsUrl() + "/hit", hit).headerAsLong(STATEMENTS);
+        }
+        print("POST /hit x" + n, n, statements, start);
+
+        start = System.nanoTime();
+        HttpDriver.Response batch = http.post(config.statsUrl() + "/hit/batch", hits);
+        print("POST /hit/batch", n, batch.headerAsLong(STATEMENTS), start);
+    }
+
+    private static void requestStatus(LoadTestConfig config, HttpDriver http, int n) throws Exception {
+        String tag = Long.toString(System.nanoTime(), 36);
+        long initiator = id(http, http.post(config.mainUrl() + "/admin/users",
+                Map.of("name", "Batch Initiator", "email", "init-" + tag + "@load.test")));
+        long category = id(http, http.post(config.mainUrl() + "/admin/categories", Map.of("name", "batch-" + tag)));
+        Map<String, Object> event = new HashMap<>();
+        event.put("annotation", "Write batching benchmark event annotation");
+        event.put("description", "Write batching benchmark event description");
+        event.put("title", "Batch " + tag);
+        event.put("category", category);
+        event.put("eventDate", LocalDateTime.now().plusDays(10).format(Seeder.FORMAT));
+        event.put("location", Map.of("lat", 55.7, "lon", 37.6));
+        event.put("participantLimit", n + 1);
+        event.put("requestModeration", true);
+        long eventId = id(http, http.post(config.mainUrl() + "/users/" + initiator + "/events", event));
+        http.patch(config.mainUrl() + "/admin/events/" + eventId, Map.of("stateAction", "PUBLISH_EVENT"));
+
+        List<Long> requestIds = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            long user = id(http, http.post(config.mainUrl() + "/admin/users",
+                    Map.of("name", "Batch User " + i, "email", "b" + i + "-" + tag + "@load.test")));
+            requestIds.add(id(http, http.post(config.mainUrl() + "/users/" + user + "/requests?eventId=" + eventId, null)));
+        }
+
+        long start = System.nanoTime();
+        HttpDriver.Response r = http.patch(config.mainUrl() + "/users/" + initiator + "/events/" + eventId + "/requests",
+                Map.of("requestIds", requestIds, "status", "CONFIRMED"));
+        if (!r.ok()) {
+            throw new IllegalStateException("Смена статуса заявок: " + r.status() + " " + new String(r.body()));
+        }
+        print("PATCH .../requests CONFIRMED", n, r.headerAsLong(STATEMENTS), start);
+    }
+
+    private static void print(String operation, int rows, long statements, long startNanos) {
+        System.out.printf(Locale.ROOT, "%-40s %8d %12d %10.1f%n", operation, rows, statements,
+                (System.nanoTime() - startNanos) / 1_000_000.0);
+    }
+
+    private static long id(HttpDriver http, HttpDriver.Response response) throws Exception {
+        if (!response.ok()) {
+            throw new IllegalStateException("Сервис ответил " + response.status() + ": " + new String(response.body()));
+        }
+        return http.json(response).get("id").asLong();
+    }
+}
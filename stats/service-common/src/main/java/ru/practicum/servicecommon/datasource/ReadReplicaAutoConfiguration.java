@@ -0,0 +1,52 @@
+package ru.practicum.servicecommon.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Два пула — основная БД и реплика — за одним DataSource: read-only транзакции читают из реплики.
+ * Пулы не регистрируются бинами, чтобы datasource-proxy оборачивал только общий DataSource.
+ * Включается, когда сервис объявил бин {@link ReplicaProperties} со своим префиксом.
+ */
+@AutoConfiguration(before = DataSourceAutoConfiguration.class)
+@ConditionalOnClass(HikariDataSource.class)
+@ConditionalOnBean(ReplicaProperties.class)
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReadReplicaAutoConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public ReadWriteRoutingDataSource dataSource(DataSourceProperties primaryProps, ReplicaProperties replicaProps,
+                                                 Environment env, MeterRegistry registry) {
+        HikariDataSource primary = primaryProps.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(env).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+        primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("replica");
+        replica.setJdbcUrl(replicaProps.getUrl());
+        replica.setUsername(replicaProps.getUsername());
+        replica.setPassword(replicaProps.getPassword());
+        replica.setMaximumPoolSize(replicaProps.getMaximumPoolSize());
+        replica.setConnectionTimeout(replicaProps.getConnectionTimeout().toMillis());
+        replica.setReadOnly(true);
+        // пул не должен падать при старте, если реплика ещё недоступна
+        replica.setInitializationFailTimeout(-1);
+        replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, replicaProps.getMaxLag(),
+                replicaProps.getCheckInterval(), registry);
+        return new ReadWriteRoutingDataSource(primary, replica, monitor);
+    }
+}
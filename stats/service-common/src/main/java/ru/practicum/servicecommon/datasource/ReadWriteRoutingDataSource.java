@@ -0,0 +1,61 @@
+package ru.practicum.servicecommon.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Основная БД для записи и реплика для read-only транзакций.
+ * Физическое соединение берётся лениво, уже после того как транзакция пометила его read-only,
+ * поэтому выбор пула видит флаг {@code @Transactional(readOnly = true)}.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+    private final HikariDataSource primary;
+    private final HikariDataSource replica;
+    private final ReplicaLagMonitor monitor;
+
+    public ReadWriteRoutingDataSource(HikariDataSource primary, HikariDataSource replica, ReplicaLagMonitor monitor) {
+        this.primary = primary;
+        this.replica = replica;
+        this.monitor = monitor;
+        setTargetDataSource(primary);
+        setReadOnlyDataSource(new ReplicaOrPrimary());
+        setDefaultAutoCommit(true);
+        setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        monitor.start();
+    }
+
+    @Override
+    public void close() {
+        monitor.close();
+        replica.close();
+        primary.close();
+    }
+
+    private class ReplicaOrPrimary extends AbstractDataSource {
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (monitor.isAvailable()) {
+                try {
+                    return replica.getConnection();
+                } catch (SQLException e) {
+                    monitor.markUnavailable(e);
+                }
+            }
+            return primary.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package ru.practicum.servicecommon.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Периодически меряет отставание реплики; реплика доступна, пока проверка проходит и отставание не больше порога.
+ * Реплика без восстановления (обычный второй Postgres) считается синхронной.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements AutoCloseable {
+    private static final String LAG_SQL = """
+            select case
+                       when not pg_is_in_recovery() then 0
+                       when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                       else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0)
+                   end
+            """;
+
+    private final DataSource replica;
+    private final Duration maxLag;
+    private final Duration checkInterval;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile boolean available;
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaLagMonitor(DataSource replica, Duration maxLag, Duration checkInterval, MeterRegistry registry) {
+        this.replica = replica;
+        this.maxLag = maxLag;
+        this.checkInterval = checkInterval;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "replica-lag-monitor");
+            t.setDaemon(true);
+            return t;
+        });
+        Gauge.builder("db.replica.lag", this, m -> m.lagSeconds)
+                .description("Replication lag of the read replica")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("db.replica.available", this, m -> m.available ? 1 : 0)
+                .description("Whether read-only transactions are routed to the replica")
+                .register(registry);
+    }
+
+    public void start() {
+        check();
+        scheduler.scheduleWithFixedDelay(this::check, checkInterval.toMillis(), checkInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Выводит реплику из ротации до следующей успешной проверки, например если не удалось получить соединение.
+     */
+    public void markUnavailable(Exception cause) {
+        if (available) {
+            log.warn("Read replica marked unavailable, falling back to primary: {}", cause.getMessage());
+        }
+        available = false;
+    }
+
+    void check() {
+        boolean wasAvailable = available;
+        try (Connection con = replica.getConnection();
+             Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery(LAG_SQL)) {
+            rs.next();
+            lagSeconds = rs.getDouble(1);
+            available = lagSeconds * 1000 <= maxLag.toMillis();
+            if (wasAvailable && !available) {
+                log.warn("Read replica lag {}s exceeds {}, falling back to primary", lagSeconds, maxLag);
+            }
+        } catch (Exception e) {
+            lagSeconds = Double.NaN;
+            available = false;
+            if (wasAvailable) {
+                log.warn("Read replica check failed, falling back to primary: {}", e.getMessage());
+            }
+        }
+        if (!wasAvailable && available) {
+            log.info("Read replica is in rotation, lag {}s", lagSeconds);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
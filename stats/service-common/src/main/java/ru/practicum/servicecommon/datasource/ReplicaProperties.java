@@ -0,0 +1,38 @@
+package ru.practicum.servicecommon.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * Настройки реплики для чтения. Префикс задаёт сервис: бин объявляется с {@code @ConfigurationProperties(prefix = ...)}.
+ */
+@Getter
+@Setter
+public class ReplicaProperties {
+    /**
+     * Направлять read-only транзакции в реплику; без него всё идёт в основную БД.
+     */
+    private boolean enabled = false;
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    private int maximumPoolSize = 10;
+
+    /**
+     * Сколько ждать соединения с репликой, прежде чем уйти на основную БД.
+     */
+    private Duration connectionTimeout = Duration.ofSeconds(1);
+
+    /**
+     * Реплика с отставанием больше порога выводится из ротации до следующей проверки.
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    private Duration checkInterval = Duration.ofSeconds(5);
+}
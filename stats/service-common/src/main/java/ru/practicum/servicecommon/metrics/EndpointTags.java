@@ -0,0 +1,28 @@
+package ru.practicum.servicecommon.metrics;
+
+import io.micrometer.core.instrument.Tag;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Тег {@code endpoint} для метрик: шаблон текущего запроса, например {@code GET /events/{id}}.
+ */
+public final class EndpointTags {
+    public static final String NAME = "endpoint";
+    private static final Tag NONE = Tag.of(NAME, "none");
+
+    private EndpointTags() {
+    }
+
+    public static Tag current() {
+        RequestAttributes attrs = RequestContextHolder.getRequestAttributes();
+        if (!(attrs instanceof ServletRequestAttributes servlet)) {
+            return NONE;
+        }
+        Object pattern = attrs.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        return pattern == null ? NONE : Tag.of(NAME, servlet.getRequest().getMethod() + " " + pattern);
+    }
+}
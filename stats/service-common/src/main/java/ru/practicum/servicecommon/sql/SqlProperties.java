@@ -0,0 +1,46 @@
+package ru.practicum.servicecommon.sql;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Настройки учёта SQL. Префикс задаёт сервис: бин объявляется с {@code @ConfigurationProperties(prefix = ...)}.
+ */
+@Getter
+@Setter
+public class SqlProperties {
+    /**
+     * Запросы дольше порога пишутся в лог вместе с параметрами.
+     */
+    private Duration slowQueryThreshold = Duration.ofMillis(200);
+
+    /**
+     * Отдавать X-Sql-Statements / X-Sql-Time-Ms в ответах (только для отладки: ответ буферизуется).
+     */
+    private boolean debugHeaders = false;
+
+    private Budget budget = new Budget();
+
+    @Getter
+    @Setter
+    public static class Budget {
+        /**
+         * Прерывать запрос при превышении бюджета; иначе только предупреждение в лог.
+         */
+        private boolean enforce = false;
+
+        /**
+         * Бюджет по умолчанию; 0 — без ограничения.
+         */
+        private int defaultMax = 0;
+
+        /**
+         * Бюджеты по эндпоинтам, ключ — метод и шаблон пути, например "GET /events/{id}".
+         */
+        private Map<String, Integer> endpoints = new HashMap<>();
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.servicecommon.sql;
+
+/**
+ * Счётчик SQL-выражений и времени в БД в пределах одного HTTP-запроса (на поток обработки).
+ */
+public final class SqlRequestStats {
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long nanos;
+    private long queryStartedAt;
+    private boolean budgetReported;
+
+    static SqlRequestStats begin() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    int queryStarted() {
+        queryStartedAt = System.nanoTime();
+        return ++statements;
+    }
+
+    void queryFinished() {
+        nanos += System.nanoTime() - queryStartedAt;
+    }
+
+    /**
+     * true только для первого превышения бюджета, чтобы не писать предупреждение на каждый следующий запрос в БД.
+     */
+    boolean markBudgetReported() {
+        boolean first = !budgetReported;
+        budgetReported = true;
+        return first;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+}
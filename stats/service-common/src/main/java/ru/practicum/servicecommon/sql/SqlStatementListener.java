@@ -0,0 +1,54 @@
+package ru.practicum.servicecommon.sql;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.logging.DefaultQueryLogEntryCreator;
+import ru.practicum.servicecommon.metrics.EndpointTags;
+
+import java.util.List;
+
+/**
+ * Считает выражения текущего запроса, сверяет их с бюджетом эндпоинта и логирует медленные запросы с параметрами.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SqlStatementListener implements QueryExecutionListener {
+
+    private final SqlProperties props;
+    private final DefaultQueryLogEntryCreator logEntryCreator = new DefaultQueryLogEntryCreator();
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats == null) {
+            return;
+        }
+        int count = stats.queryStarted();
+        String endpoint = EndpointTags.current().getValue();
+        int budget = props.getBudget().getEndpoints().getOrDefault(endpoint, props.getBudget().getDefaultMax());
+        if (budget > 0 && count > budget) {
+            String message = endpoint + " exceeded SQL statement budget of " + budget;
+            if (props.getBudget().isEnforce()) {
+                throw new StatementBudgetExceededException(message);
+            }
+            if (stats.markBudgetReported()) {
+                log.warn(message);
+            }
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats != null) {
+            stats.queryFinished();
+        }
+        if (execInfo.getElapsedTime() >= props.getSlowQueryThreshold().toMillis() && log.isWarnEnabled()) {
+            log.warn("Slow query [{}]: {}", EndpointTags.current().getValue(),
+                    logEntryCreator.getLogEntry(execInfo, queryInfoList, false, false, false));
+        }
+    }
+}
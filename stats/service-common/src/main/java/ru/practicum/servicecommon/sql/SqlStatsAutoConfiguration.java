@@ -0,0 +1,50 @@
+package ru.practicum.servicecommon.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Оборачивает пул в datasource-proxy: подсчёт выражений на запрос, бюджет и лог медленных запросов.
+ * Включается, когда сервис объявил бин {@link SqlProperties} со своим префиксом.
+ * Бины {@link QueryExecutionListener} из контекста подключаются к тому же прокси (так тесты видят реальный SQL).
+ */
+@AutoConfiguration
+@ConditionalOnBean(SqlProperties.class)
+public class SqlStatsAutoConfiguration {
+
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(ObjectProvider<SqlProperties> props,
+                                                                 ObjectProvider<QueryExecutionListener> listeners) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource ds && !(bean instanceof ProxyDataSource)) {
+                    ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(ds)
+                            .name(beanName)
+                            .listener(new SqlStatementListener(props.getObject()));
+                    listeners.orderedStream().forEach(builder::listener);
+                    return builder.build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatsFilter> sqlStatsFilter(MeterRegistry registry, SqlProperties props) {
+        FilterRegistrationBean<SqlStatsFilter> bean = new FilterRegistrationBean<>(new SqlStatsFilter(registry, props));
+        bean.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return bean;
+    }
+}
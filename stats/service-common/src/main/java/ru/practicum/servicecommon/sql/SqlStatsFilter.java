@@ -0,0 +1,107 @@
+package ru.practicum.servicecommon.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import ru.practicum.servicecommon.metrics.EndpointTags;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Открывает счётчик SQL на время запроса и публикует итог: метрики по эндпоинту и, в отладке, заголовки ответа.
+ */
+@RequiredArgsConstructor
+public class SqlStatsFilter extends OncePerRequestFilter {
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String TIME_HEADER = "X-Sql-Time-Ms";
+    /**
+     * Атрибут запроса: ответ пишется потоком (SSE, выгрузка), отладочные заголовки ради него не буферизуются.
+     */
+    public static final String STREAMING_ATTRIBUTE = SqlStatsFilter.class.getName() + ".STREAMING";
+
+    private final MeterRegistry registry;
+    private final SqlProperties props;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlRequestStats stats = SqlRequestStats.begin();
+        BufferedResponse buffered = props.isDebugHeaders() ? new BufferedResponse(request, response) : null;
+        try {
+            chain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            SqlRequestStats.end();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                String endpoint = request.getMethod() + " " + pattern;
+                DistributionSummary.builder("http.server.sql.statements")
+                        .tag(EndpointTags.NAME, endpoint)
+                        .register(registry)
+                        .record(stats.getStatements());
+                Timer.builder("http.server.sql.time")
+                        .tag(EndpointTags.NAME, endpoint)
+                        .register(registry)
+                        .record(stats.getNanos(), TimeUnit.NANOSECONDS);
+            }
+            if (buffered != null && !isStreaming(request)) {
+                buffered.setHeader(STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+                buffered.setHeader(TIME_HEADER, String.format("%.2f", stats.getNanos() / 1_000_000.0));
+                buffered.copyBodyToResponse();
+            }
+        }
+    }
+
+    /**
+     * Помечает ответ как потоковый; вызывается эндпоинтом до первой записи в ответ.
+     */
+    public static void markStreaming(HttpServletRequest request) {
+        request.setAttribute(STREAMING_ATTRIBUTE, Boolean.TRUE);
+    }
+
+    private static boolean isStreaming(HttpServletRequest request) {
+        return Boolean.TRUE.equals(request.getAttribute(STREAMING_ATTRIBUTE));
+    }
+
+    /**
+     * Буферизует тело ради заголовков с итогом, но потоковый ответ пишет сразу в исходный response:
+     * эндпоинт ставит атрибут уже после того, как фильтр обернул ответ.
+     */
+    private static class BufferedResponse extends ContentCachingResponseWrapper {
+        private final HttpServletRequest request;
+
+        BufferedResponse(HttpServletRequest request, HttpServletResponse response) {
+            super(response);
+            this.request = request;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            return isStreaming(request) ? getResponse().getOutputStream() : super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            return isStreaming(request) ? getResponse().getWriter() : super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (isStreaming(request)) {
+                getResponse().flushBuffer();
+            } else {
+                super.flushBuffer();
+            }
+        }
+    }
+}
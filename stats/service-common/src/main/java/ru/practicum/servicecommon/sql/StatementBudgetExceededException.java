@@ -0,0 +1,7 @@
+package ru.practicum.servicecommon.sql;
+
+public class StatementBudgetExceededException extends RuntimeException {
+    public StatementBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.servicecommon.thread;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Мониторинг пиннинга включается вместе с spring.threads.virtual в любом из сервисов.
+ */
+@AutoConfiguration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadAutoConfiguration {
+
+    @Bean
+    VirtualThreadPinningMonitor virtualThreadPinningMonitor(MeterRegistry registry) {
+        return new VirtualThreadPinningMonitor(registry);
+    }
+}
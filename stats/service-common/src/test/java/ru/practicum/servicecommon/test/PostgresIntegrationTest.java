@@ -0,0 +1,83 @@
+package ru.practicum.servicecommon.test;
+
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+/**
+ * Интеграционные тесты на PostgreSQL 16: сервер из системного свойства test.postgres.url (или TEST_POSTGRES_URL),
+ * иначе контейнер Testcontainers. Без того и другого тесты пропускаются.
+ * Каждый контекст получает свою пустую базу, схему создаёт Flyway сервиса.
+ */
+@ExtendWith(PostgresIntegrationTest.ServerAvailable.class)
+public abstract class PostgresIntegrationTest {
+
+    private static final String EXTERNAL_URL = setting("test.postgres.url", "TEST_POSTGRES_URL", null);
+    private static final String EXTERNAL_USER = setting("test.postgres.username", "TEST_POSTGRES_USERNAME", "postgres");
+    private static final String EXTERNAL_PASSWORD = setting("test.postgres.password", "TEST_POSTGRES_PASSWORD",
+            "postgres");
+
+    private static PostgreSQLContainer<?> container;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws SQLException {
+        String url = EXTERNAL_URL != null ? EXTERNAL_URL : container().getJdbcUrl();
+        String user = EXTERNAL_URL != null ? EXTERNAL_USER : container().getUsername();
+        String password = EXTERNAL_URL != null ? EXTERNAL_PASSWORD : container().getPassword();
+        String database = "test_" + UUID.randomUUID().toString().replace("-", "");
+        try (Connection con = DriverManager.getConnection(url, user, password);
+             Statement st = con.createStatement()) {
+            st.execute("create database " + database);
+            // vacuum отмечает страницы all-visible только после надёжного коммита; иначе не будет index-only scan
+            st.execute("alter database " + database + " set synchronous_commit = on");
+        }
+        if (EXTERNAL_URL != null) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> dropDatabase(url, user, password, database)));
+        }
+        registry.add("spring.datasource.url", () -> url.replaceFirst("/[^/?]+(\\?|$)", "/" + database + "$1"));
+        registry.add("spring.datasource.username", () -> user);
+        registry.add("spring.datasource.password", () -> password);
+    }
+
+    private static void dropDatabase(String url, String user, String password, String database) {
+        try (Connection con = DriverManager.getConnection(url, user, password);
+             Statement st = con.createStatement()) {
+            st.execute("drop database if exists " + database + " with (force)");
+        } catch (SQLException e) {
+            System.err.println("Could not drop test database " + database + ": " + e.getMessage());
+        }
+    }
+
+    private static synchronized PostgreSQLContainer<?> container() {
+        if (container == null) {
+            container = new PostgreSQLContainer<>("postgres:16-alpine");
+            container.start();
+        }
+        return container;
+    }
+
+    static class ServerAvailable implements ExecutionCondition {
+        @Override
+        public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+            return EXTERNAL_URL != null || DockerClientFactory.instance().isDockerAvailable()
+                    ? ConditionEvaluationResult.enabled("PostgreSQL available")
+                    : ConditionEvaluationResult.disabled("Neither test.postgres.url nor Docker is available");
+        }
+    }
+
+    private static String setting(String property, String env, String fallback) {
+        String value = System.getProperty(property, System.getenv(env));
+        return value == null || value.isBlank() ? fallback : value;
+    }
+}
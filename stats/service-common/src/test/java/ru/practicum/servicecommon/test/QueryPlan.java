@@ -0,0 +1,98 @@
+package ru.practicum.servicecommon.test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Generic-план выражения с JDBC-параметрами: PREPARE + plan_cache_mode = force_generic_plan + EXPLAIN EXECUTE.
+ * Такой план сервер выбирает для подготовленного выражения после пяти выполнений, и он не видит значений
+ * параметров — частичный индекс в нём подходит, только если его условие записано в SQL литералом.
+ * Seq scan выключен: на тестовом объёме он дешевле любого индекса, а проверяется, что индекс подходит под запрос.
+ */
+public record QueryPlan(String sql, JsonNode plan) {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    public static QueryPlan generic(JdbcTemplate jdbc, String sql) {
+        StringBuilder prepared = new StringBuilder(sql.length() + 16);
+        int parameters = numberParameters(sql, prepared);
+        return jdbc.execute((ConnectionCallback<QueryPlan>) con -> {
+            try (Statement st = con.createStatement()) {
+                st.execute("set enable_seqscan = off");
+                st.execute("set plan_cache_mode = force_generic_plan");
+                st.execute("prepare plan_check as " + prepared);
+            }
+            // значения на generic-план не влияют
+            String execute = parameters == 0 ? "plan_check"
+                    : "plan_check(" + String.join(", ", Collections.nCopies(parameters, "null")) + ")";
+            try (PreparedStatement ps = con.prepareStatement("explain (format json) execute " + execute);
+                 ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return new QueryPlan(sql, JSON.readTree(rs.getString(1)));
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                try (Statement st = con.createStatement()) {
+                    st.execute("deallocate plan_check");
+                    st.execute("reset plan_cache_mode");
+                    st.execute("reset enable_seqscan");
+                }
+            }
+        });
+    }
+
+    public Set<String> indexNames() {
+        return collect("Index Name");
+    }
+
+    public Set<String> nodeTypes() {
+        return collect("Node Type");
+    }
+
+    @Override
+    public String toString() {
+        return sql + "\n" + plan.toPrettyString();
+    }
+
+    private Set<String> collect(String field) {
+        Set<String> values = new HashSet<>();
+        collect(plan, field, values);
+        return values;
+    }
+
+    private static void collect(JsonNode node, String field, Set<String> values) {
+        if (node.has(field)) {
+            values.add(node.get(field).asText());
+        }
+        node.forEach(child -> collect(child, field, values));
+    }
+
+    /**
+     * Переписывает JDBC-плейсхолдеры ? вне строковых литералов в $1, $2, ...; возвращает их число.
+     */
+    private static int numberParameters(String sql, StringBuilder result) {
+        boolean quoted = false;
+        int n = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            if (c == '?' && !quoted) {
+                result.append('$').append(++n);
+            } else {
+                result.append(c);
+            }
+        }
+        return n;
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.servicecommon.test;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Predicate;
+
+/**
+ * Записывает SQL, который уходит через datasource-proxy в текущем потоке: тест видит ровно те выражения,
+ * которые строят репозитории, а не их копии. Подключается к прокси как бин (через @Import).
+ */
+public class StatementRecorder implements QueryExecutionListener {
+
+    private final ThreadLocal<List<String>> recording = new ThreadLocal<>();
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        List<String> statements = recording.get();
+        if (statements != null) {
+            queryInfoList.forEach(q -> statements.add(q.getQuery()));
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    /**
+     * Выполняет action и возвращает выражения, выполненные за это время в этом потоке.
+     */
+    public List<String> record(Callable<?> action) throws Exception {
+        List<String> statements = new ArrayList<>();
+        recording.set(statements);
+        try {
+            action.call();
+        } finally {
+            recording.remove();
+        }
+        return statements;
+    }
+
+    /**
+     * Единственное выражение из action, подходящее под filter.
+     */
+    public String single(Predicate<String> filter, Callable<?> action) throws Exception {
+        List<String> matching = record(action).stream().filter(filter).toList();
+        if (matching.size() != 1) {
+            throw new AssertionError("Expected one matching statement, got " + matching);
+        }
+        return matching.get(0);
+    }
+}
@@ -3,24 +3,46 @@ package ru.practicum.statsclient;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Supplier;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.CollectionUtils;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.util.UriComponentsBuilder;
 import org.springframework.web.client.RestTemplate;
+import ru.practicum.servicecommon.metrics.EndpointTags;
 import ru.practicum.statsdto.EndpointHitDto;
+import ru.practicum.statsdto.HistogramBucketDto;
+import ru.practicum.statsdto.HistogramGranularity;
 import ru.practicum.statsdto.ViewStatsDto;
 
 public class StatsClient {
     private static final DateTimeFormatter FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     private final RestTemplate rt;
+    private final MeterRegistry registry;
 
     public StatsClient(RestTemplate rt) {
+        this(rt, new CompositeMeterRegistry());
+    }
+
+    public StatsClient(RestTemplate rt, MeterRegistry registry) {
         this.rt = rt;
+        this.registry = registry;
     }
 
     public void postHit(EndpointHitDto dto) {
-        rt.postForEntity("/hit", dto, Void.class);
+        measure("hit", () -> rt.postForEntity("/hit", dto, Void.class));
+    }
+
+    public void postHits(List<EndpointHitDto> dtos) {
+        if (dtos.isEmpty()) return;
+        measure("hit-batch", () -> rt.postForEntity("/hit/batch", dtos, Void.class));
     }
 
     public List<ViewStatsDto> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, boolean unique) {
@@ -34,8 +56,56 @@ public class StatsClient {
         }
 
         String url = b.build(false).toUriString();
-        ResponseEntity<ViewStatsDto[]> resp = rt.getForEntity(url, ViewStatsDto[].class);
+        ResponseEntity<ViewStatsDto[]> resp = measure("stats", () -> rt.getForEntity(url, ViewStatsDto[].class));
         ViewStatsDto[] arr = resp.getBody();
         return arr == null ? Collections.emptyList() : Arrays.asList(arr);
     }
+
+    public List<HistogramBucketDto> getHistogram(LocalDateTime start, LocalDateTime end, List<String> uris,
+                                                 HistogramGranularity granularity) {
+        UriComponentsBuilder b = UriComponentsBuilder.fromPath("/stats/histogram")
+                .queryParam("start", start.format(FMT))
+                .queryParam("end", end.format(FMT))
+                .queryParam("granularity", granularity);
+
+        if (!CollectionUtils.isEmpty(uris)) {
+            for (String u : uris) b.queryParam("uris", u);
+        }
+
+        String url = b.build(false).toUriString();
+        ResponseEntity<HistogramBucketDto[]> resp = measure("histogram",
+                () -> rt.getForEntity(url, HistogramBucketDto[].class));
+        HistogramBucketDto[] arr = resp.getBody();
+        return arr == null ? Collections.emptyList() : Arrays.asList(arr);
+    }
+
+    /**
+     * Время вызова stats-server и счётчик ошибок, с разбивкой по операции и входящему эндпоинту.
+     */
+    private <T> T measure(String operation, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "SUCCESS";
+        try {
+            return call.get();
+        } catch (RuntimeException ex) {
+            outcome = outcome(ex);
+            Counter.builder("stats.client.errors")
+                    .tags(Tags.of("operation", operation, "outcome", outcome).and(EndpointTags.current()))
+                    .tag("exception", ex.getClass().getSimpleName())
+                    .register(registry)
+                    .increment();
+            throw ex;
+        } finally {
+            sample.stop(Timer.builder("stats.client.requests")
+                    .tags(Tags.of("operation", operation, "outcome", outcome).and(EndpointTags.current()))
+                    .register(registry));
+        }
+    }
+
+    private static String outcome(RuntimeException ex) {
+        if (ex instanceof HttpStatusCodeException http) {
+            return http.getStatusCode().is4xxClientError() ? "CLIENT_ERROR" : "SERVER_ERROR";
+        }
+        return ex instanceof ResourceAccessException ? "IO_ERROR" : "UNKNOWN";
+    }
 }
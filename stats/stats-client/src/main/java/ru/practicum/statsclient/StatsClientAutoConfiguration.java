@@ -1,10 +1,18 @@
 package ru.practicum.statsclient;
 
+import java.net.http.HttpClient;
 import java.time.Duration;
+import java.util.concurrent.Executors;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @AutoConfiguration
@@ -12,16 +20,29 @@ import org.springframework.web.client.RestTemplate;
 public class StatsClientAutoConfiguration {
 
     @Bean
-    RestTemplate statsRestTemplate(RestTemplateBuilder b, StatsClientProperties props) {
-        return b
+    RestTemplate statsRestTemplate(RestTemplateBuilder b, StatsClientProperties props, Environment env) {
+        RestTemplateBuilder builder = b
                 .rootUri(props.getBaseUrl())
                 .setConnectTimeout(Duration.ofSeconds(3))
-                .setReadTimeout(Duration.ofSeconds(5))
-                .build();
+                .setReadTimeout(Duration.ofSeconds(5));
+        if (Threading.VIRTUAL.isActive(env)) {
+            // JDK HttpClient on virtual threads instead of HttpURLConnection, which pins carrier threads
+            builder = builder.requestFactory(settings -> {
+                HttpClient client = HttpClient.newBuilder()
+                        .executor(Executors.newVirtualThreadPerTaskExecutor())
+                        .connectTimeout(settings.connectTimeout())
+                        .build();
+                JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(client);
+                factory.setReadTimeout(settings.readTimeout());
+                return factory;
+            });
+        }
+        return builder.build();
     }
 
     @Bean
-    StatsClient statsClient(RestTemplate statsRestTemplate) {
-        return new StatsClient(statsRestTemplate);
+    StatsClient statsClient(RestTemplate statsRestTemplate, ObjectProvider<MeterRegistry> registry) {
+        MeterRegistry meters = registry.getIfAvailable();
+        return meters == null ? new StatsClient(statsRestTemplate) : new StatsClient(statsRestTemplate, meters);
     }
 }
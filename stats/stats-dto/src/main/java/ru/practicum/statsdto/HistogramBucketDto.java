@@ -0,0 +1,20 @@
+package ru.practicum.statsdto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+public class HistogramBucketDto {
+    private String app;
+    private String uri;
+    private LocalDateTime bucket;
+    private Long hits;
+    private Long uniqueHits;
+}
@@ -0,0 +1,35 @@
+package ru.practicum.statsserver.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.springframework.boot.actuate.metrics.data.DefaultRepositoryTagsProvider;
+import org.springframework.boot.actuate.metrics.data.RepositoryTagsProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocation;
+import ru.practicum.servicecommon.metrics.EndpointTags;
+
+/**
+ * Таймеры сервиса и запросов HitRepository ({@code spring.data.repository.invocations}) с тегом эндпоинта.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry, (ProceedingJoinPoint pjp) -> Tags.of(
+                Tag.of("class", pjp.getStaticPart().getSignature().getDeclaringType().getSimpleName()),
+                Tag.of("method", pjp.getStaticPart().getSignature().getName()),
+                EndpointTags.current()));
+    }
+
+    @Bean
+    public RepositoryTagsProvider repositoryTagsProvider() {
+        DefaultRepositoryTagsProvider defaults = new DefaultRepositoryTagsProvider();
+        return (RepositoryMethodInvocation invocation) -> Tags.of(defaults.repositoryTags(invocation))
+                .and(EndpointTags.current());
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.statsserver.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.servicecommon.datasource.ReplicaProperties;
+
+/**
+ * Реплика для чтения под префиксом stats.datasource.replica; маршрутизирующий DataSource строит ReadReplicaAutoConfiguration.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "stats.datasource.replica", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "stats.datasource.replica")
+    public ReplicaProperties replicaProperties() {
+        return new ReplicaProperties();
+    }
+}
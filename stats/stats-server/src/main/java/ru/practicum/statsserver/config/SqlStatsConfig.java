@@ -0,0 +1,19 @@
+package ru.practicum.statsserver.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.servicecommon.sql.SqlProperties;
+
+/**
+ * Настройки учёта SQL под префиксом stats.sql; прокси пула и фильтр подключает SqlStatsAutoConfiguration.
+ */
+@Configuration
+public class SqlStatsConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "stats.sql")
+    public SqlProperties sqlProperties() {
+        return new SqlProperties();
+    }
+}
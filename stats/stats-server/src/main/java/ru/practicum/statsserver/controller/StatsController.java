@@ -1,6 +1,8 @@
 package ru.practicum.statsserver.controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
@@ -8,6 +10,8 @@ import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.statsdto.EndpointHitDto;
+import ru.practicum.statsdto.HistogramBucketDto;
+import ru.practicum.statsdto.HistogramGranularity;
 import ru.practicum.statsdto.ViewStatsDto;
 import ru.practicum.statsserver.formatter.MyDataTimeFormatter;
 import ru.practicum.statsserver.service.StatsService;
@@ -31,6 +35,12 @@ public class StatsController {
         return statsService.createHit(dto);
     }
 
+    @PostMapping(path = "/hit/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    public void saveHits(@RequestBody @NotEmpty @Size(max = 1000) List<@Valid EndpointHitDto> dtos) {
+        statsService.createHits(dtos);
+    }
+
     @GetMapping(path = "/stats", produces = MediaType.APPLICATION_JSON_VALUE)
     public List<ViewStatsDto> getStats(
             @RequestParam(required = false)
@@ -49,4 +59,23 @@ public class StatsController {
     ) {
         return statsService.getStats(start, end, uris, unique);
     }
+
+    @GetMapping(path = "/stats/histogram", produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<HistogramBucketDto> getHistogram(
+            @RequestParam
+            @DateTimeFormat(pattern = DATE_TIME_PATTERN)
+            LocalDateTime start,
+
+            @RequestParam
+            @DateTimeFormat(pattern = DATE_TIME_PATTERN)
+            LocalDateTime end,
+
+            @RequestParam(required = false)
+            List<String> uris,
+
+            @RequestParam(defaultValue = "HOUR")
+            HistogramGranularity granularity
+    ) {
+        return statsService.getHistogram(start, end, uris, granularity);
+    }
 }
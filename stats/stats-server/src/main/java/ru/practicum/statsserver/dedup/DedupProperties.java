@@ -0,0 +1,17 @@
+package ru.practicum.statsserver.dedup;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "stats.dedup")
+public class DedupProperties {
+    private boolean enabled = false;
+    private Duration window = Duration.ofSeconds(60);
+    private int expectedInsertions = 100_000;
+    private double falsePositiveRate = 0.01;
+}
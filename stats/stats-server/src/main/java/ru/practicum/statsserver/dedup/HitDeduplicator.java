@@ -0,0 +1,84 @@
+package ru.practicum.statsserver.dedup;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import ru.practicum.statsdto.EndpointHitDto;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Окно дедупликации хитов по ключу app+uri+ip на двух поочерёдно сбрасываемых Bloom-фильтрах.
+ * Ключ помнится не меньше половины окна и не больше целого окна; ложные срабатывания
+ * безопасны — вызывающий код всё равно проверяет наличие строки для инкремента в БД.
+ */
+@Component
+public class HitDeduplicator {
+    private final DedupProperties props;
+    private final Counter collapsed;
+    private final Counter ingested;
+    private final ReentrantLock rotateLock = new ReentrantLock();
+    private final long halfWindowNanos;
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter previous;
+    private volatile long rotatedAt;
+
+    public HitDeduplicator(DedupProperties props, MeterRegistry registry) {
+        this.props = props;
+        this.collapsed = Counter.builder("stats.hits.collapsed")
+                .description("Hits collapsed into an existing row by the dedup window")
+                .register(registry);
+        this.ingested = Counter.builder("stats.hits.ingested")
+                .description("Hits received by the ingest endpoint")
+                .register(registry);
+        this.halfWindowNanos = Math.max(1, props.getWindow().toNanos() / 2);
+        this.current = newFilter();
+        this.previous = newFilter();
+        this.rotatedAt = System.nanoTime();
+    }
+
+    public boolean isEnabled() {
+        return props.isEnabled();
+    }
+
+    /**
+     * Регистрирует хит и возвращает true, если тот же app+uri+ip, вероятно, уже встречался в окне.
+     */
+    public boolean seenRecently(EndpointHitDto dto) {
+        ingested.increment();
+        if (!props.isEnabled()) {
+            return false;
+        }
+        rotateIfNeeded();
+        String key = dto.getApp() + '\u0000' + dto.getUri() + '\u0000' + dto.getIp();
+        boolean inPrevious = previous.mightContain(key);
+        boolean inCurrent = current.put(key);
+        return inCurrent || inPrevious;
+    }
+
+    public void markCollapsed() {
+        collapsed.increment();
+    }
+
+    private void rotateIfNeeded() {
+        long now = System.nanoTime();
+        if (now - rotatedAt < halfWindowNanos) {
+            return;
+        }
+        rotateLock.lock();
+        try {
+            if (now - rotatedAt >= halfWindowNanos) {
+                previous = current;
+                current = newFilter();
+                rotatedAt = now;
+            }
+        } finally {
+            rotateLock.unlock();
+        }
+    }
+
+    private BloomFilter newFilter() {
+        return new BloomFilter(props.getExpectedInsertions(), props.getFalsePositiveRate());
+    }
+}
@@ -10,6 +10,7 @@ import ru.practicum.statsserver.model.Hit;
 public interface HitMapper {
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "hitCount", ignore = true)
     Hit toHit(EndpointHitDto dto);
 
     EndpointHitDto toDto(Hit hit);
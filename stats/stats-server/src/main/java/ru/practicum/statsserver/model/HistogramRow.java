@@ -0,0 +1,15 @@
+package ru.practicum.statsserver.model;
+
+import java.time.LocalDateTime;
+
+public interface HistogramRow {
+    String getApp();
+
+    String getUri();
+
+    LocalDateTime getBucket();
+
+    Long getHits();
+
+    Long getUniqueHits();
+}
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
@@ -16,7 +17,8 @@ import java.time.LocalDateTime;
 @Builder
 public class Hit {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "hits_seq")
+    @SequenceGenerator(name = "hits_seq", sequenceName = "hits_seq", allocationSize = 50)
     private Long id;
     @Column(nullable = false)
     private String app;
@@ -26,4 +28,8 @@ public class Hit {
     private String ip;
     @Column(name = "timestamp", nullable = false)
     private LocalDateTime timestamp;
+    @Builder.Default
+    @ColumnDefault("1")
+    @Column(name = "hit_count", nullable = false)
+    private Integer hitCount = 1;
 }
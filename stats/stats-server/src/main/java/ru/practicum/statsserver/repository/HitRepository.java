@@ -1,8 +1,10 @@
 package ru.practicum.statsserver.repository;
 
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.statsserver.model.Hit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import ru.practicum.statsserver.model.HistogramRow;
 import ru.practicum.statsserver.model.ViewStatsRow;
 
 import java.time.LocalDateTime;
@@ -11,7 +13,7 @@ import java.util.List;
 
 public interface HitRepository extends JpaRepository<Hit, Long> {
     @Query("""
-               select h.app as app, h.uri as uri, count(h.id) as hits
+               select h.app as app, h.uri as uri, sum(h.hitCount) as hits
                from Hit h
                where h.timestamp between :start and :end
                and h.uri in :uris
@@ -31,7 +33,7 @@ public interface HitRepository extends JpaRepository<Hit, Long> {
     List<ViewStatsRow> findUniqueStats(LocalDateTime start, LocalDateTime end, Collection<String> uris);
 
     @Query("""
-               select h.app as app, h.uri as uri, count(h.id) as hits
+               select h.app as app, h.uri as uri, sum(h.hitCount) as hits
                from Hit h
                where h.timestamp between :start and :end
                group by h.app, h.uri
@@ -47,6 +49,37 @@ public interface HitRepository extends JpaRepository<Hit, Long> {
                order by hits desc
             """)
     List<ViewStatsRow> findUniqueAllUriStats(LocalDateTime start, LocalDateTime end);
-}
 
+    @Query(nativeQuery = true, value = """
+               select h.app as app, h.uri as uri, date_trunc(:unit, h.timestamp) as bucket,
+                      sum(h.hit_count) as hits, count(distinct h.ip) as "uniqueHits"
+               from hits h
+               where h.timestamp between :start and :end
+                 and h.uri in :uris
+               group by 1, 2, 3
+               order by 2, 3
+            """)
+    List<HistogramRow> findHistogram(String unit, LocalDateTime start, LocalDateTime end, Collection<String> uris);
 
+    @Query(nativeQuery = true, value = """
+               select h.app as app, h.uri as uri, date_trunc(:unit, h.timestamp) as bucket,
+                      sum(h.hit_count) as hits, count(distinct h.ip) as "uniqueHits"
+               from hits h
+               where h.timestamp between :start and :end
+               group by 1, 2, 3
+               order by 2, 3
+            """)
+    List<HistogramRow> findAllUriHistogram(String unit, LocalDateTime start, LocalDateTime end);
+
+    @Modifying
+    @Query(nativeQuery = true, value = """
+               update hits set hit_count = hit_count + 1
+               where id = (select max(h.id)
+                           from hits h
+                           where h.app = :app
+                             and h.uri = :uri
+                             and h.ip = :ip
+                             and h.timestamp >= :since)
+            """)
+    int incrementLatest(String app, String uri, String ip, LocalDateTime since);
+}
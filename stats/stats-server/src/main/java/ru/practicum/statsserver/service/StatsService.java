@@ -1,6 +1,8 @@
 package ru.practicum.statsserver.service;
 
 import ru.practicum.statsdto.EndpointHitDto;
+import ru.practicum.statsdto.HistogramBucketDto;
+import ru.practicum.statsdto.HistogramGranularity;
 import ru.practicum.statsdto.ViewStatsDto;
 
 import java.time.LocalDateTime;
@@ -9,5 +11,10 @@ import java.util.List;
 public interface StatsService {
     EndpointHitDto createHit(EndpointHitDto endpointHitDto);
 
+    void createHits(List<EndpointHitDto> hits);
+
     List<ViewStatsDto> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique);
+
+    List<HistogramBucketDto> getHistogram(LocalDateTime start, LocalDateTime end, List<String> uris,
+                                          HistogramGranularity granularity);
 }
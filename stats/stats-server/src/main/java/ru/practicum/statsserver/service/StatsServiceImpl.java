@@ -1,34 +1,74 @@
 package ru.practicum.statsserver.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.statsdto.EndpointHitDto;
+import ru.practicum.statsdto.HistogramBucketDto;
+import ru.practicum.statsdto.HistogramGranularity;
 import ru.practicum.statsdto.ViewStatsDto;
+import ru.practicum.statsserver.dedup.DedupProperties;
+import ru.practicum.statsserver.dedup.HitDeduplicator;
 import ru.practicum.statsserver.mapper.HitMapper;
 import ru.practicum.statsserver.model.Hit;
+import ru.practicum.statsserver.model.HistogramRow;
 import ru.practicum.statsserver.model.ViewStatsRow;
 import ru.practicum.statsserver.repository.HitRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
+@Timed("stats.service")
 @RequiredArgsConstructor
 public class StatsServiceImpl implements StatsService {
     private final HitRepository hitRepository;
     private final HitMapper hitMapper;
+    private final HitDeduplicator deduplicator;
+    private final DedupProperties dedupProperties;
 
     @Override
+    @Transactional
     public EndpointHitDto createHit(EndpointHitDto dto) {
         if (dto == null) {
             throw new IllegalArgumentException("EndpointHitDto must not be null");
         }
+        if (collapsed(dto)) {
+            return dto;
+        }
         Hit hit = hitMapper.toHit(dto);
         Hit saved = hitRepository.save(hit);
         return hitMapper.toDto(saved);
     }
 
     @Override
+    @Transactional
+    public void createHits(List<EndpointHitDto> hits) {
+        List<Hit> fresh = new ArrayList<>(hits.size());
+        for (EndpointHitDto dto : hits) {
+            if (!collapsed(dto)) {
+                fresh.add(hitMapper.toHit(dto));
+            }
+        }
+        hitRepository.saveAll(fresh);
+    }
+
+    private boolean collapsed(EndpointHitDto dto) {
+        if (!deduplicator.seenRecently(dto)) {
+            return false;
+        }
+        LocalDateTime since = dto.getTimestamp().minus(dedupProperties.getWindow());
+        if (hitRepository.incrementLatest(dto.getApp(), dto.getUri(), dto.getIp(), since) > 0) {
+            deduplicator.markCollapsed();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<ViewStatsDto> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique) {
         if (start == null && end != null) {
             throw new IllegalArgumentException("Start date must be provided if end date is specified");
@@ -52,4 +92,32 @@ public class StatsServiceImpl implements StatsService {
                         .build())
                 .toList();
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<HistogramBucketDto> getHistogram(LocalDateTime start, LocalDateTime end, List<String> uris,
+                                                 HistogramGranularity granularity) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Start and end dates must be provided for histogram");
+        }
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("Start date must be before end date");
+        }
+        if (granularity == null) {
+            throw new IllegalArgumentException("Granularity must be provided");
+        }
+        String unit = granularity.getTruncUnit();
+        List<HistogramRow> rows = (uris != null)
+                ? hitRepository.findHistogram(unit, start, end, uris)
+                : hitRepository.findAllUriHistogram(unit, start, end);
+
+        return rows.stream().map(row -> HistogramBucketDto.builder()
+                        .app(row.getApp())
+                        .uri(row.getUri())
+                        .bucket(row.getBucket())
+                        .hits(row.getHits())
+                        .uniqueHits(row.getUniqueHits())
+                        .build())
+                .toList();
+    }
 }
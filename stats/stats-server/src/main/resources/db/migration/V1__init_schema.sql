@@ -0,0 +1,10 @@
+-- Схема в том виде, в каком её создавал ddl-auto: update; существующие базы помечаются этой версией через baseline.
+
+create table hits (
+    id        bigint generated by default as identity primary key,
+    app       varchar(255) not null,
+    uri       varchar(255) not null,
+    ip        varchar(255) not null,
+    timestamp timestamp(6) not null,
+    hit_count integer      not null default 1
+);
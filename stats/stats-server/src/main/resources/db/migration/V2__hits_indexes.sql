@@ -0,0 +1,6 @@
+-- /stats и /stats/histogram с uris: uri in (...) and timestamp between ...; include даёт index-only scan
+-- для sum(hit_count) и count(distinct ip). Тот же индекс обслуживает incrementLatest (app, uri, ip, timestamp).
+create index idx_hits_uri_timestamp on hits (uri, timestamp) include (app, ip, hit_count);
+
+-- Запросы без uris: только диапазон по времени.
+create index idx_hits_timestamp on hits (timestamp);
@@ -0,0 +1,6 @@
+-- Идентификаторы из последовательности с шагом 50 (pooled-оптимизатор Hibernate) вместо identity:
+-- identity отключает JDBC-батчинг вставок. Старт выше текущего max(id), чтобы не пересечься с существующими строками.
+
+alter table hits alter column id drop identity;
+create sequence hits_seq increment by 50;
+select setval('hits_seq', coalesce((select max(id) from hits), 0) + 51, false);
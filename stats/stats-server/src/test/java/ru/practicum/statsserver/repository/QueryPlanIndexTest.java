@@ -0,0 +1,96 @@
+package ru.practicum.statsserver.repository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.servicecommon.test.PostgresIntegrationTest;
+import ru.practicum.servicecommon.test.QueryPlan;
+import ru.practicum.servicecommon.test.StatementRecorder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Запросы /stats и /stats/histogram идут по индексам из миграций. SQL записывается с datasource-proxy
+ * при вызове {@link HitRepository} и проверяется в generic-плане (см. {@link QueryPlan}).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Import(StatementRecorder.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanIndexTest extends PostgresIntegrationTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+    private static final List<String> URIS = List.of("/events/1", "/events/2");
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private TransactionTemplate tx;
+
+    @Autowired
+    private StatementRecorder recorder;
+
+    @Autowired
+    private HitRepository hitRepository;
+
+    @BeforeAll
+    void seed() {
+        jdbc.execute("""
+                insert into hits (id, app, uri, ip, timestamp)
+                select g, 'ewm-main-service', '/events/' || g % 1000, '10.0.' || g % 250 || '.' || g % 200,
+                       now() - (g % 43200) * interval '1 minute'
+                from generate_series(1, 100000) g
+                """);
+        // visibility map для index-only scan
+        jdbc.execute("vacuum analyze hits");
+    }
+
+    @Test
+    void statsByUrisUseCoveringIndexOnly() throws Exception {
+        assertIndexOnly(() -> hitRepository.findStats(NOW.minusDays(7), NOW, URIS));
+    }
+
+    @Test
+    void uniqueStatsByUrisUseCoveringIndexOnly() throws Exception {
+        assertIndexOnly(() -> hitRepository.findUniqueStats(NOW.minusDays(7), NOW, URIS));
+    }
+
+    @Test
+    void histogramByUrisUsesCoveringIndexOnly() throws Exception {
+        assertIndexOnly(() -> hitRepository.findHistogram("hour", NOW.minusDays(7), NOW, URIS));
+    }
+
+    @Test
+    void statsWithoutUrisUseTimestampIndex() throws Exception {
+        assertThat(plan(() -> hitRepository.findAllUriStats(NOW.minusHours(1), NOW)).indexNames())
+                .containsExactly("idx_hits_timestamp");
+        assertThat(plan(() -> hitRepository.findUniqueAllUriStats(NOW.minusHours(1), NOW)).indexNames())
+                .containsExactly("idx_hits_timestamp");
+    }
+
+    @Test
+    void dedupIncrementUsesUriTimestampIndex() throws Exception {
+        QueryPlan plan = plan(() -> tx.execute(s -> hitRepository.incrementLatest(
+                "ewm-main-service", "/events/1", "10.0.1.1", NOW.minusMinutes(10))));
+        assertThat(plan.indexNames()).as(plan.toString()).contains("idx_hits_uri_timestamp");
+    }
+
+    private void assertIndexOnly(Callable<?> action) throws Exception {
+        QueryPlan plan = plan(action);
+        assertThat(plan.indexNames()).as(plan.toString()).containsExactly("idx_hits_uri_timestamp");
+        assertThat(plan.nodeTypes()).as(plan.toString()).contains("Index Only Scan");
+    }
+
+    private QueryPlan plan(Callable<?> action) throws Exception {
+        return QueryPlan.generic(jdbc, recorder.single(sql -> sql.contains("from hits"), action));
+    }
+}